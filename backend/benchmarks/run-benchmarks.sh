@@ -0,0 +1,15 @@
+#!/bin/bash
+# Runs the JMH benchmarks with the allocation profiler and stores the results as JSON
+# under results/<commit>.json so runs can be compared across commits.
+# Extra arguments are passed to JMH, e.g. ./run-benchmarks.sh MappingBenchmark -p size=500
+set -e
+cd "$(dirname "$0")"
+
+COMMIT=$(git rev-parse --short HEAD 2>/dev/null || echo "local")
+if [ -n "$(git status --porcelain -- .. 2>/dev/null)" ]; then
+    COMMIT="$COMMIT-dirty"
+fi
+
+mkdir -p results
+java -jar target/benchmarks.jar -prof gc -rf json -rff "results/$COMMIT.json" "$@"
+echo "Results written to results/$COMMIT.json"
@@ -0,0 +1,127 @@
+package com.quizmaster.benchmark;
+
+import com.quizmaster.model.Flashcard;
+import com.quizmaster.model.Quiz;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Deterministic quizzes, flashcard sets and answer sheets shaped like real content
+final class Fixtures {
+
+    private static final String LOREM = "Which of the following statements about the topic is accurate given the"
+            + " context described in the lesson and the examples discussed in class";
+
+    private Fixtures() {
+    }
+
+    static Quiz quiz(int questionCount, long seed) {
+        Random random = new Random(seed);
+        List<Quiz.Question> questions = new ArrayList<>(questionCount);
+        for (int q = 0; q < questionCount; q++) {
+            Quiz.Question.QuestionType type = q % 5 == 4
+                    ? Quiz.Question.QuestionType.MULTIPLE_CHOICE
+                    : Quiz.Question.QuestionType.SINGLE_CHOICE;
+            int correct = random.nextInt(4);
+            List<Quiz.Question.Option> options = new ArrayList<>(4);
+            for (int o = 0; o < 4; o++) {
+                options.add(Quiz.Question.Option.builder()
+                        .id("q" + q + "-o" + o)
+                        .text(text(random, 4 + random.nextInt(8)))
+                        .isCorrect(o == correct || (type == Quiz.Question.QuestionType.MULTIPLE_CHOICE && o == (correct + 1) % 4))
+                        .build());
+            }
+            questions.add(Quiz.Question.builder()
+                    .id("q" + q)
+                    .text(text(random, 12 + random.nextInt(12)) + "?")
+                    .type(type)
+                    .options(options)
+                    .explanation(text(random, 20 + random.nextInt(20)))
+                    .build());
+        }
+        return Quiz.builder()
+                .id("quiz-" + seed)
+                .title("Benchmark quiz with " + questionCount + " questions")
+                .description(text(random, 30))
+                .tags(List.of("benchmark", "science", "grade-10"))
+                .createdBy("bench")
+                .isPublic(true)
+                .timeLimit(30)
+                .questions(questions)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 2, 12, 0))
+                .build();
+    }
+
+    // Roughly 70% correct, 20% wrong and 10% unanswered
+    static Map<String, List<String>> answers(Quiz quiz, long seed) {
+        Random random = new Random(seed);
+        Map<String, List<String>> answers = new HashMap<>();
+        for (Quiz.Question question : quiz.getQuestions()) {
+            int roll = random.nextInt(10);
+            if (roll == 9) {
+                continue;
+            }
+            List<String> selected = new ArrayList<>();
+            for (Quiz.Question.Option option : question.getOptions()) {
+                if (option.isCorrect() == (roll < 7)) {
+                    selected.add(option.getId());
+                    if (question.getType() != Quiz.Question.QuestionType.MULTIPLE_CHOICE) {
+                        break;
+                    }
+                }
+            }
+            answers.put(question.getId(), selected);
+        }
+        return answers;
+    }
+
+    static Flashcard flashcard(int cardCount, long seed) {
+        Random random = new Random(seed);
+        List<Flashcard.Card> cards = new ArrayList<>(cardCount);
+        for (int c = 0; c < cardCount; c++) {
+            cards.add(Flashcard.Card.builder()
+                    .id("card-" + c)
+                    .front(text(random, 3 + random.nextInt(8)))
+                    .back(text(random, 10 + random.nextInt(25)))
+                    .position(c)
+                    .build());
+        }
+        return Flashcard.builder()
+                .id("flashcard-" + seed)
+                .title("Benchmark deck with " + cardCount + " cards")
+                .description(text(random, 30))
+                .tags(List.of("benchmark", "vocabulary"))
+                .createdBy("bench")
+                .isPublic(true)
+                .cards(cards)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 2, 12, 0))
+                .build();
+    }
+
+    static Map<String, Boolean> cardResults(int cardCount, int from, int to, long seed) {
+        Random random = new Random(seed);
+        Map<String, Boolean> results = new HashMap<>();
+        for (int c = from; c < Math.min(to, cardCount); c++) {
+            results.put("card-" + c, random.nextInt(4) != 0);
+        }
+        return results;
+    }
+
+    private static String text(Random random, int words) {
+        String[] vocabulary = LOREM.split(" ");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.quizmaster.benchmark;
+
+import com.quizmaster.model.Flashcard;
+import com.quizmaster.model.Quiz;
+import com.quizmaster.service.QuizGrader;
+import com.quizmaster.service.StudyScorer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Grading a submitted quiz (QuizService.submitQuiz) and scoring a flashcard study
+// (FlashcardService.submitFlashcardStudy), the CPU work of the two submit endpoints.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradingBenchmark {
+
+    // Questions per quiz; cards per deck are ten times this
+    @Param({"10", "100", "500"})
+    public int size;
+
+    private Quiz quiz;
+    private Map<String, List<String>> answers;
+    private Flashcard flashcard;
+    private Map<String, Boolean> syncedResults;
+    private Map<String, Boolean> submittedResults;
+    private Set<String> cardIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        quiz = Fixtures.quiz(size, 42);
+        answers = Fixtures.answers(quiz, 7);
+        int cards = size * 10;
+        flashcard = Fixtures.flashcard(cards, 42);
+        // Most results arrive as progress syncs, the rest with the submit
+        syncedResults = Fixtures.cardResults(cards, 0, cards * 3 / 4, 7);
+        submittedResults = Fixtures.cardResults(cards, cards * 2 / 3, cards, 8);
+        cardIds = flashcard.getCards().stream().map(Flashcard.Card::getId).collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public QuizGrader.Result gradeQuiz() {
+        return QuizGrader.grade(quiz, answers);
+    }
+
+    @Benchmark
+    public StudyScorer.Result scoreStudy() {
+        return StudyScorer.score(syncedResults, submittedResults, cardIds, flashcard.getCards().size());
+    }
+}
@@ -0,0 +1,64 @@
+package com.quizmaster.benchmark;
+
+import com.quizmaster.security.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// Token issue (login/register) and validation (every authenticated request via JwtAuthenticationFilter)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private UserDetails user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService();
+        byte[] secret = new byte[32];
+        for (int i = 0; i < secret.length; i++) {
+            secret[i] = (byte) (i * 31 + 7);
+        }
+        PrivateAccess.set(jwtService, "secretKey", Base64.getEncoder().encodeToString(secret));
+        PrivateAccess.set(jwtService, "jwtExpiration", 86_400_000L);
+        PrivateAccess.set(jwtService, "refreshExpiration", 604_800_000L);
+        user = User.withUsername("benchmark-user").password("unused").roles("USER").build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    // JwtAuthenticationFilter parses the token once for the username and again to validate it
+    @Benchmark
+    public boolean authenticateRequest() {
+        String username = jwtService.extractUsername(token);
+        return username != null && jwtService.isTokenValid(token, user);
+    }
+}
@@ -0,0 +1,79 @@
+package com.quizmaster.benchmark;
+
+import com.quizmaster.service.OpenrouterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+// OpenrouterService.extractJsonFromResponse on the shapes models actually return for quiz generation:
+// bare JSON, JSON in a ```json fence after some prose, and JSON embedded in prose without a fence.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LlmResponseBenchmark {
+
+    @Param({"bare", "fenced", "prose"})
+    public String shape;
+
+    @Param({"10", "30"})
+    public int questions;
+
+    private String response;
+    private MethodHandle extract;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String json = quizJson(questions);
+        if ("bare".equals(shape)) {
+            response = json;
+        } else if ("fenced".equals(shape)) {
+            response = "Sure! Here is a quiz about the solar system that matches your request.\n\n```json\n"
+                    + json + "\n```\n\nLet me know if you would like more questions or a different difficulty.";
+        } else {
+            response = "Here is the quiz you asked for: " + json + " I hope this helps with your studies!";
+        }
+        extract = PrivateAccess.method(PrivateAccess.instantiate(OpenrouterService.class), "extractJsonFromResponse", String.class);
+    }
+
+    @Benchmark
+    public String extractJson() throws Throwable {
+        return (String) extract.invokeExact(response);
+    }
+
+    private static String quizJson(int questions) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n  \"title\": \"The Solar System\",\n  \"description\": \"Planets, moons and the sun\",\n  \"questions\": [\n");
+        for (int q = 0; q < questions; q++) {
+            if (q > 0) {
+                sb.append(",\n");
+            }
+            sb.append("    {\n      \"text\": \"Which planet is number ").append(q + 1).append(" in this list of facts about orbits and moons?\",\n")
+                    .append("      \"type\": \"SINGLE_CHOICE\",\n      \"options\": [\n");
+            for (int o = 0; o < 4; o++) {
+                if (o > 0) {
+                    sb.append(",\n");
+                }
+                sb.append("        {\"text\": \"Option ").append(o + 1).append(" describing a planet\", \"isCorrect\": ")
+                        .append(o == q % 4).append("}");
+            }
+            sb.append("\n      ],\n      \"explanation\": \"The correct answer follows from the order of the planets from the sun.\"\n    }");
+        }
+        sb.append("\n  ]\n}");
+        return sb.toString();
+    }
+}
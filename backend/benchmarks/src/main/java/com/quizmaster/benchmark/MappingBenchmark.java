@@ -0,0 +1,92 @@
+package com.quizmaster.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.quizmaster.config.JacksonViewsConfig;
+import com.quizmaster.dto.response.FlashcardResponse;
+import com.quizmaster.dto.response.QuizResponse;
+import com.quizmaster.model.Flashcard;
+import com.quizmaster.model.Quiz;
+import com.quizmaster.service.FlashcardService;
+import com.quizmaster.service.QuizService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+// Document -> DTO mapping and DTO -> JSON serialization for the quiz and flashcard read endpoints.
+// The DTOs share the documents' question and card lists, so mapping allocates only the top-level
+// response; run with -prof gc to see the bytes allocated per response.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    // Questions per quiz; cards per deck are the same
+    @Param({"10", "100", "500"})
+    public int size;
+
+    private Quiz quiz;
+    private Flashcard flashcard;
+    private QuizResponse quizResponse;
+    private FlashcardResponse flashcardResponse;
+    private MethodHandle mapQuiz;
+    private MethodHandle mapFlashcard;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        quiz = Fixtures.quiz(size, 42);
+        flashcard = Fixtures.flashcard(size, 42);
+        mapQuiz = PrivateAccess.method(PrivateAccess.instantiate(QuizService.class), "mapQuizToResponse", Quiz.class);
+        mapFlashcard = PrivateAccess.method(PrivateAccess.instantiate(FlashcardService.class), "mapFlashcardToResponse", Flashcard.class);
+        // Same setup as Spring Boot's auto-configured mapper, including the default Public view
+        objectMapper = JacksonViewsConfig.usePublicView(JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        quizResponse = mapQuiz();
+        flashcardResponse = mapFlashcard();
+    }
+
+    @Benchmark
+    public QuizResponse mapQuiz() throws Throwable {
+        return (QuizResponse) mapQuiz.invokeExact(quiz);
+    }
+
+    @Benchmark
+    public FlashcardResponse mapFlashcard() throws Throwable {
+        return (FlashcardResponse) mapFlashcard.invokeExact(flashcard);
+    }
+
+    @Benchmark
+    public byte[] serializeQuiz() throws Exception {
+        return objectMapper.writeValueAsBytes(quizResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeFlashcard() throws Exception {
+        return objectMapper.writeValueAsBytes(flashcardResponse);
+    }
+
+    // What a cache miss on GET /quizzes/{id} costs after the document is loaded
+    @Benchmark
+    public byte[] mapAndSerializeQuiz() throws Throwable {
+        return objectMapper.writeValueAsBytes((QuizResponse) mapQuiz.invokeExact(quiz));
+    }
+}
@@ -0,0 +1,127 @@
+package com.quizmaster.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.quizmaster.config.JacksonViewsConfig;
+import com.quizmaster.dto.response.QuizResponse;
+import com.quizmaster.model.Quiz;
+import com.quizmaster.service.QuizService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Encode and decode cost of a quiz response as JSON, gzipped JSON, Smile and CBOR, the formats
+// GET /quizzes/{id} can negotiate. The encoded sizes are printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"10", "500"})
+    public int size;
+
+    private QuizResponse quizResponse;
+    private ObjectMapper jsonMapper;
+    private ObjectMapper smileMapper;
+    private ObjectMapper cborMapper;
+    private byte[] json;
+    private byte[] gzipJson;
+    private byte[] smile;
+    private byte[] cbor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        Quiz quiz = Fixtures.quiz(size, 42);
+        quizResponse = (QuizResponse) PrivateAccess.method(PrivateAccess.instantiate(QuizService.class), "mapQuizToResponse", Quiz.class)
+                .invokeExact(quiz);
+        // Same modules and features as the API's mappers, which share one Jackson2ObjectMapperBuilder
+        jsonMapper = JacksonViewsConfig.usePublicView(JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        smileMapper = JacksonViewsConfig.usePublicView(SmileMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        cborMapper = JacksonViewsConfig.usePublicView(CBORMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+
+        json = encodeJson();
+        gzipJson = encodeGzipJson();
+        smile = encodeSmile();
+        cbor = encodeCbor();
+        System.out.printf("%n%d questions: json=%d B, json+gzip=%d B, smile=%d B, cbor=%d B%n",
+                size, json.length, gzipJson.length, smile.length, cbor.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return jsonMapper.writeValueAsBytes(quizResponse);
+    }
+
+    // What a cached entry costs to build when the client accepts gzip
+    @Benchmark
+    public byte[] encodeGzipJson() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            jsonMapper.writeValue(gzip, quizResponse);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeSmile() throws IOException {
+        return smileMapper.writeValueAsBytes(quizResponse);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cborMapper.writeValueAsBytes(quizResponse);
+    }
+
+    @Benchmark
+    public QuizResponse decodeJson() throws IOException {
+        return jsonMapper.readValue(json, QuizResponse.class);
+    }
+
+    @Benchmark
+    public QuizResponse decodeGzipJson() throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(gzipJson))) {
+            return jsonMapper.readValue(gzip, QuizResponse.class);
+        }
+    }
+
+    @Benchmark
+    public QuizResponse decodeSmile() throws IOException {
+        return smileMapper.readValue(smile, QuizResponse.class);
+    }
+
+    @Benchmark
+    public QuizResponse decodeCbor() throws IOException {
+        return cborMapper.readValue(cbor, QuizResponse.class);
+    }
+}
@@ -0,0 +1,44 @@
+package com.quizmaster.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+// Reaches the private helpers of Spring services so they can be measured without a context.
+// Services are created with null collaborators; only methods that ignore them may be invoked.
+final class PrivateAccess {
+
+    private PrivateAccess() {
+    }
+
+    static <T> T instantiate(Class<T> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructors()[0];
+            constructor.setAccessible(true);
+            Object[] args = new Object[constructor.getParameterCount()];
+            return type.cast(constructor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + type.getName(), e);
+        }
+    }
+
+    static MethodHandle method(Object target, String name, Class<?>... parameterTypes) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(target.getClass(), MethodHandles.lookup());
+            return lookup.unreflect(target.getClass().getDeclaredMethod(name, parameterTypes)).bindTo(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access " + name, e);
+        }
+    }
+
+    static void set(Object target, String field, Object value) {
+        try {
+            Field f = target.getClass().getDeclaredField(field);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + field, e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.quizmaster.benchmark;
+
+import com.quizmaster.search.InvertedIndex;
+import com.quizmaster.search.SearchHits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Compares the in-memory BM25 index with the unanchored case-insensitive title regex
+// that findByTitleContainingIgnoreCase sends to Mongo (a full collection scan).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class SearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String[] VOCABULARY = {
+            "algebra", "biology", "chemistry", "history", "geography", "physics", "calculus",
+            "grammar", "vocabulary", "literature", "programming", "java", "python", "networks",
+            "databases", "statistics", "economics", "philosophy", "music", "painting", "anatomy",
+            "genetics", "ecology", "astronomy", "geometry", "trigonometry", "poetry", "spanish",
+            "french", "english", "vietnamese", "revolution", "empire", "cells", "atoms", "energy",
+            "forces", "motion", "equations", "functions", "derivatives", "integrals", "verbs",
+            "nouns", "capitals", "rivers", "mountains", "planets", "stars", "galaxies"
+    };
+
+    @Param({"100000", "1000000"})
+    public int documents;
+
+    @Param({"calculus", "java programming"})
+    public String keyword;
+
+    private InvertedIndex index;
+    private List<String> titles;
+    private Pattern titlePattern;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new InvertedIndex();
+        titles = new ArrayList<>(documents);
+        for (int i = 0; i < documents; i++) {
+            String title = sentence(random, 3 + random.nextInt(4));
+            String description = sentence(random, 10 + random.nextInt(10));
+            titles.add(title);
+            index.index(Integer.toString(i), List.of(
+                    new InvertedIndex.Field(title, 3.0f),
+                    new InvertedIndex.Field(description, 1.0f)
+            ));
+        }
+        titlePattern = Pattern.compile(Pattern.quote(keyword), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    @Benchmark
+    public SearchHits invertedIndex() {
+        return index.search(keyword, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<String> titleRegexScan() {
+        List<String> page = new ArrayList<>(PAGE_SIZE);
+        int total = 0;
+        for (int i = 0; i < titles.size(); i++) {
+            if (titlePattern.matcher(titles.get(i)).find()) {
+                if (page.size() < PAGE_SIZE) {
+                    page.add(Integer.toString(i));
+                }
+                total++;
+            }
+        }
+        page.add(Integer.toString(total));
+        return page;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            String word = VOCABULARY[random.nextInt(VOCABULARY.length)];
+            sb.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,4 @@
+package com.quizmaster.benchmark.jmh_generated;
+public class GradingBenchmark_jmhType extends GradingBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.quizmaster.benchmark.jmh_generated;
+public class JwtBenchmark_jmhType extends JwtBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.quizmaster.benchmark.jmh_generated;
+public class LlmResponseBenchmark_jmhType extends LlmResponseBenchmark_jmhType_B3 {
+}
+
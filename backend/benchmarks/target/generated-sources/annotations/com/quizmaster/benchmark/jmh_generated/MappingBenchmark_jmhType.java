@@ -0,0 +1,4 @@
+package com.quizmaster.benchmark.jmh_generated;
+public class MappingBenchmark_jmhType extends MappingBenchmark_jmhType_B3 {
+}
+
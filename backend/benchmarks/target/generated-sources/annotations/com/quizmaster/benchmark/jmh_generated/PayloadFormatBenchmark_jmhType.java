@@ -0,0 +1,4 @@
+package com.quizmaster.benchmark.jmh_generated;
+public class PayloadFormatBenchmark_jmhType extends PayloadFormatBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,86 @@
+package com.quizmaster.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+// One simulated user's view of the API: holds its bearer token and records every call in the stats
+class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final LatencyStats stats;
+    private String token;
+
+    ApiClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, LatencyStats stats) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+    }
+
+    void setToken(String token) {
+        this.token = token;
+    }
+
+    // The endpoint name is the path template, so per-id calls aggregate into one row
+    JsonNode get(String endpoint, String path) {
+        return send("GET " + endpoint, request(path).GET());
+    }
+
+    JsonNode post(String endpoint, String path, Object body) {
+        try {
+            HttpRequest.BodyPublisher publisher = body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+            return send("POST " + endpoint, request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(publisher));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot serialize request for " + endpoint, e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "identity");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // Returns the parsed body, or null when the call failed (already counted as an error)
+    private JsonNode send(String endpoint, HttpRequest.Builder builder) {
+        stats.begin();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            boolean success = response.statusCode() < 400;
+            stats.record(endpoint, start, success);
+            if (!success) {
+                return null;
+            }
+            byte[] body = response.body();
+            return body.length == 0 ? objectMapper.createObjectNode() : objectMapper.readTree(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            stats.record(endpoint, start, false);
+            return null;
+        } finally {
+            stats.end();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.quizmaster.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// The user journeys driven by the load test: sign up, browse the public catalog,
+// take quizzes, study flashcards and (for a fraction of iterations) chat with the assistant.
+class Journeys {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final String[] TAGS = {"math", "science", "history", "language", "geography", "music"};
+
+    private final LoadTestOptions options;
+
+    Journeys(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    boolean signUp(ApiClient client, String username) {
+        Map<String, Object> register = new HashMap<>();
+        register.put("username", username);
+        register.put("email", username + "@loadtest.local");
+        register.put("password", PASSWORD);
+        register.put("fullName", "Load Test " + username);
+        if (client.post("/auth/register", "/auth/register", register) == null) {
+            return false;
+        }
+
+        Map<String, Object> login = new HashMap<>();
+        login.put("username", username);
+        login.put("password", PASSWORD);
+        JsonNode auth = client.post("/auth/login", "/auth/login", login);
+        if (auth == null || auth.path("token").asText("").isEmpty()) {
+            return false;
+        }
+        client.setToken(auth.path("token").asText());
+        return true;
+    }
+
+    // Public content for the catalog, created through the API like an author would
+    int seed(ApiClient author) {
+        int created = 0;
+        for (int i = 0; i < options.quizzes; i++) {
+            if (author.post("/quizzes", "/quizzes", quiz(i)) != null) {
+                created++;
+            }
+        }
+        for (int i = 0; i < options.flashcards; i++) {
+            if (author.post("/flashcards", "/flashcards", flashcard(i)) != null) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    void iterate(ApiClient client) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        takeQuiz(client, random);
+        studyFlashcards(client, random);
+        if (random.nextDouble() < options.chatRatio) {
+            chat(client);
+        }
+    }
+
+    private void takeQuiz(ApiClient client, ThreadLocalRandom random) {
+        String quizId = pickId(client, "quizzes", random);
+        if (quizId == null) {
+            return;
+        }
+        JsonNode quiz = client.get("/quizzes/{id}", "/quizzes/" + quizId);
+        JsonNode attempt = client.post("/quizzes/{id}/start", "/quizzes/" + quizId + "/start", null);
+        if (quiz == null || attempt == null) {
+            return;
+        }
+
+        Map<String, List<String>> answers = new HashMap<>();
+        for (JsonNode question : quiz.path("questions")) {
+            JsonNode questionOptions = question.path("options");
+            if (questionOptions.size() > 0) {
+                answers.put(question.path("id").asText(),
+                        List.of(questionOptions.get(random.nextInt(questionOptions.size())).path("id").asText()));
+            }
+        }
+        Map<String, Object> submit = new HashMap<>();
+        submit.put("answers", answers);
+        submit.put("timeSpent", 60);
+        client.post("/quizzes/attempts/{attemptId}/submit",
+                "/quizzes/attempts/" + attempt.path("id").asText() + "/submit", submit);
+    }
+
+    private void studyFlashcards(ApiClient client, ThreadLocalRandom random) {
+        String flashcardId = pickId(client, "flashcards", random);
+        if (flashcardId == null) {
+            return;
+        }
+        JsonNode flashcard = client.get("/flashcards/{id}", "/flashcards/" + flashcardId);
+        JsonNode study = client.post("/flashcards/{id}/start", "/flashcards/" + flashcardId + "/start", null);
+        if (flashcard == null || study == null) {
+            return;
+        }
+
+        Map<String, Boolean> cardResults = new HashMap<>();
+        for (JsonNode card : flashcard.path("cards")) {
+            cardResults.put(card.path("id").asText(), random.nextInt(4) != 0);
+        }
+        Map<String, Object> submit = new HashMap<>();
+        submit.put("cardResults", cardResults);
+        submit.put("timeSpent", 120);
+        client.post("/flashcards/studies/{studyId}/submit",
+                "/flashcards/studies/" + study.path("id").asText() + "/submit", submit);
+    }
+
+    private void chat(ApiClient client) {
+        JsonNode session = client.post("/ai/chat/sessions", "/ai/chat/sessions?title=Load%20test", null);
+        if (session == null) {
+            return;
+        }
+        Map<String, Object> message = new HashMap<>();
+        message.put("content", "Can you explain how photosynthesis works in simple terms?");
+        client.post("/ai/chat/sessions/{sessionId}/messages",
+                "/ai/chat/sessions/" + session.path("id").asText() + "/messages", message);
+    }
+
+    // Most users page through a tag, some load the full public list
+    private String pickId(ApiClient client, String type, ThreadLocalRandom random) {
+        JsonNode items;
+        if (random.nextInt(5) == 0) {
+            items = client.get("/" + type + "/public", "/" + type + "/public");
+        } else {
+            JsonNode page = client.get("/" + type + "/browse", "/" + type + "/browse?tags="
+                    + TAGS[random.nextInt(TAGS.length)] + "&page=" + random.nextInt(3) + "&size=20");
+            items = page != null ? page.path("content") : null;
+        }
+        if (items == null || items.size() == 0) {
+            return null;
+        }
+        return items.get(random.nextInt(items.size())).path("id").asText();
+    }
+
+    private Map<String, Object> quiz(int index) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Map<String, Object>> questions = new ArrayList<>();
+        for (int q = 0; q < options.questions; q++) {
+            int correct = random.nextInt(4);
+            List<Map<String, Object>> questionOptions = new ArrayList<>();
+            for (int o = 0; o < 4; o++) {
+                Map<String, Object> option = new LinkedHashMap<>();
+                option.put("text", "Option " + (o + 1) + " for question " + (q + 1));
+                option.put("correct", o == correct);
+                questionOptions.add(option);
+            }
+            Map<String, Object> question = new LinkedHashMap<>();
+            question.put("text", "Question " + (q + 1) + " of load test quiz " + index + "?");
+            question.put("type", "SINGLE_CHOICE");
+            question.put("options", questionOptions);
+            question.put("explanation", "Option " + (correct + 1) + " is correct.");
+            questions.add(question);
+        }
+        Map<String, Object> quiz = new LinkedHashMap<>();
+        quiz.put("title", "Load test quiz " + index);
+        quiz.put("description", "Generated by the load test harness");
+        quiz.put("tags", List.of(TAGS[index % TAGS.length], TAGS[(index / TAGS.length) % TAGS.length]));
+        quiz.put("public", true);
+        quiz.put("timeLimit", 0);
+        quiz.put("questions", questions);
+        return quiz;
+    }
+
+    private Map<String, Object> flashcard(int index) {
+        List<Map<String, Object>> cards = new ArrayList<>();
+        for (int c = 0; c < options.cards; c++) {
+            Map<String, Object> card = new LinkedHashMap<>();
+            card.put("front", "Term " + (c + 1) + " of deck " + index);
+            card.put("back", "Definition of term " + (c + 1) + ", long enough to look like a real answer.");
+            card.put("position", c);
+            cards.add(card);
+        }
+        Map<String, Object> flashcard = new LinkedHashMap<>();
+        flashcard.put("title", "Load test deck " + index);
+        flashcard.put("description", "Generated by the load test harness");
+        flashcard.put("tags", List.of(TAGS[index % TAGS.length]));
+        flashcard.put("public", true);
+        flashcard.put("cards", cards);
+        return flashcard;
+    }
+}
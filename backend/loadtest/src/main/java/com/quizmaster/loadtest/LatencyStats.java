@@ -0,0 +1,94 @@
+package com.quizmaster.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histogram and error count per endpoint, keyed by method and path template,
+// plus the peak number of requests in flight at once
+class LatencyStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private volatile boolean recording = true;
+
+    // Each call to begin must be paired with a call to end, whether or not the request is recorded
+    void begin() {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+
+    void end() {
+        inFlight.decrementAndGet();
+    }
+
+    void record(String endpoint, long startNanos, boolean success) {
+        if (!recording) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        stats.histogram.recordValue(Math.min(micros, MAX_TRACKABLE_MICROS));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    // Drops everything recorded so far, e.g. after warmup
+    void reset() {
+        endpoints.clear();
+        peakInFlight.set(inFlight.get());
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    void print(PrintStream out, double elapsedSeconds) {
+        String format = "%-44s %9s %7s %9s %9s %9s %9s %9s%n";
+        out.printf(format, "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        long totalRequests = 0;
+        long totalErrors = 0;
+        Histogram all = new Histogram(MAX_TRACKABLE_MICROS, 3);
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Histogram histogram = entry.getValue().histogram.copy();
+            long errors = entry.getValue().errors.sum();
+            printRow(out, format, entry.getKey(), histogram, errors, elapsedSeconds);
+            totalRequests += histogram.getTotalCount();
+            totalErrors += errors;
+            all.add(histogram);
+        }
+        printRow(out, format, "TOTAL", all, totalErrors, elapsedSeconds);
+        out.printf("%n%d requests, %d errors in %.1f s, at most %d in flight%n",
+                totalRequests, totalErrors, elapsedSeconds, peakInFlight.get());
+    }
+
+    private static void printRow(PrintStream out, String format, String name, Histogram histogram, long errors, double elapsedSeconds) {
+        out.printf(format, name,
+                histogram.getTotalCount(),
+                errors,
+                String.format("%.1f", histogram.getTotalCount() / elapsedSeconds),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.1f", micros / 1000.0);
+    }
+
+    private static class Endpoint {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,165 @@
+package com.quizmaster.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizmaster.QuizmasterApiApplication;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Boots the API in-process against an in-memory Mongo server and a local OpenRouter stub,
+// seeds a public catalog, then runs concurrent user journeys for a fixed duration and prints
+// throughput and latency percentiles per endpoint. With --target it drives an external server instead.
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        MongoServer mongoServer = null;
+        OpenrouterStub openrouterStub = null;
+        ConfigurableApplicationContext app = null;
+        String baseUrl = options.target;
+
+        try {
+            if (baseUrl.isEmpty()) {
+                mongoServer = new MongoServer(new MemoryBackend());
+                InetSocketAddress mongoAddress = mongoServer.bind();
+                openrouterStub = new OpenrouterStub(options.llmLatencyMs, Math.max(16, options.users));
+                openrouterStub.start();
+                app = startApplication(options, mongoAddress, openrouterStub.url());
+                int port = ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+                baseUrl = "http://127.0.0.1:" + port + options.basePath;
+            }
+            System.out.println("Target: " + baseUrl);
+            if (app != null) {
+                System.out.println(options.virtualThreads
+                        ? "Requests run on virtual threads"
+                        : "Requests run on up to " + options.serverThreads + " Tomcat threads");
+            }
+            run(options, baseUrl);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+            if (openrouterStub != null) {
+                openrouterStub.stop();
+            }
+            if (mongoServer != null) {
+                mongoServer.shutdownNow();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options, InetSocketAddress mongoAddress, String openrouterUrl) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.data.mongodb.uri", "mongodb://127.0.0.1:" + mongoAddress.getPort() + "/quizmaster");
+        properties.put("JWT_SECRET", Base64.getEncoder().encodeToString(secret));
+        properties.put("MONGODB_URI", "unused");
+        properties.put("OPENROUTER_API_KEY", "load-test");
+        properties.put("openrouter.api.url", openrouterUrl);
+        properties.put("MAIL_HOST", "localhost");
+        properties.put("MAIL_PORT", "2525");
+        properties.put("MAIL_USERNAME", "");
+        properties.put("MAIL_PASSWORD", "");
+        properties.put("quizmaster.mail.dispatch-enabled", "false");
+        // Every simulated user signs up from 127.0.0.1
+        properties.put("quizmaster.auth.limit.ip-max-attempts", "1000000");
+        properties.put("server.port", "0");
+        properties.put("server.servlet.context-path", options.basePath);
+        properties.put("management.server.port", "-1");
+        properties.put("spring.threads.virtual.enabled", Boolean.toString(options.virtualThreads));
+        properties.put("server.tomcat.threads.max", Integer.toString(options.serverThreads));
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.com.quizmaster", "WARN");
+
+        return new SpringApplicationBuilder(QuizmasterApiApplication.class)
+                .profiles("prod")
+                .properties(properties)
+                .run();
+    }
+
+    private static void run(LoadTestOptions options, String baseUrl) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ExecutorService userThreads = Executors.newFixedThreadPool(options.users + 1);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+        LatencyStats stats = new LatencyStats();
+        Journeys journeys = new Journeys(options);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        ApiClient author = new ApiClient(httpClient, objectMapper, baseUrl, stats);
+        if (!journeys.signUp(author, "author-" + runId)) {
+            throw new IllegalStateException("Could not register the seeding user; is " + baseUrl + " reachable?");
+        }
+        long seedStart = System.nanoTime();
+        int seeded = journeys.seed(author);
+        System.out.printf("Seeded %d quizzes and flashcard sets in %.1f s%n", seeded, (System.nanoTime() - seedStart) / 1e9);
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        AtomicInteger failedSignUps = new AtomicInteger();
+        AtomicInteger iterations = new AtomicInteger();
+        List<Future<?>> running = new ArrayList<>();
+
+        for (int u = 0; u < options.users; u++) {
+            int user = u;
+            long startDelayMs = options.users > 1 ? options.rampUpSeconds * 1000L * user / (options.users - 1) : 0;
+            running.add(userThreads.submit(() -> {
+                try {
+                    Thread.sleep(startDelayMs);
+                    ApiClient client = new ApiClient(httpClient, objectMapper, baseUrl, stats);
+                    if (!journeys.signUp(client, "user-" + runId + "-" + user)) {
+                        failedSignUps.incrementAndGet();
+                        return;
+                    }
+                    while (System.nanoTime() < end) {
+                        journeys.iterate(client);
+                        iterations.incrementAndGet();
+                        if (options.thinkMs > 0) {
+                            Thread.sleep(options.thinkMs);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        Thread.sleep(Math.max(0, TimeUnit.NANOSECONDS.toMillis(warmupEnd - System.nanoTime())));
+        stats.reset();
+        long measureStart = System.nanoTime();
+        System.out.printf("Warmup done, measuring %d users for %d s%n", options.users, options.durationSeconds);
+
+        for (Future<?> future : running) {
+            future.get();
+        }
+        stats.stop();
+        double elapsed = (System.nanoTime() - measureStart) / 1e9;
+        userThreads.shutdownNow();
+
+        System.out.println();
+        stats.print(System.out, elapsed);
+        System.out.printf("%d journey iterations, %d failed sign-ups%n", iterations.get(), failedSignUps.get());
+    }
+}
@@ -0,0 +1,69 @@
+package com.quizmaster.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Command line options, given as --name=value
+class LoadTestOptions {
+
+    private static final Set<String> KNOWN = Set.of("target", "base-path", "users", "duration", "warmup", "ramp-up",
+            "think-ms", "quizzes", "flashcards", "questions", "cards", "chat-ratio", "llm-latency-ms",
+            "virtual-threads", "server-threads");
+
+    // Base URL of an already running API; empty boots the app in-process against local stand-ins
+    String target = "";
+    String basePath = "/api/v1";
+    int users = 50;
+    int durationSeconds = 60;
+    int warmupSeconds = 10;
+    int rampUpSeconds = 5;
+    long thinkMs = 0;
+    int quizzes = 200;
+    int flashcards = 200;
+    int questions = 10;
+    int cards = 20;
+    double chatRatio = 0.1;
+    long llmLatencyMs = 1500;
+    // In-process app only: request execution on virtual threads (Java 21+), or the Tomcat pool size
+    boolean virtualThreads = false;
+    int serverThreads = 400;
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions();
+        options.target = values.getOrDefault("target", options.target);
+        options.basePath = values.getOrDefault("base-path", options.basePath);
+        options.users = intValue(values, "users", options.users);
+        options.durationSeconds = intValue(values, "duration", options.durationSeconds);
+        options.warmupSeconds = intValue(values, "warmup", options.warmupSeconds);
+        options.rampUpSeconds = intValue(values, "ramp-up", options.rampUpSeconds);
+        options.thinkMs = intValue(values, "think-ms", (int) options.thinkMs);
+        options.quizzes = intValue(values, "quizzes", options.quizzes);
+        options.flashcards = intValue(values, "flashcards", options.flashcards);
+        options.questions = intValue(values, "questions", options.questions);
+        options.cards = intValue(values, "cards", options.cards);
+        options.chatRatio = Double.parseDouble(values.getOrDefault("chat-ratio", Double.toString(options.chatRatio)));
+        options.llmLatencyMs = intValue(values, "llm-latency-ms", (int) options.llmLatencyMs);
+        options.virtualThreads = Boolean.parseBoolean(values.getOrDefault("virtual-threads", Boolean.toString(options.virtualThreads)));
+        options.serverThreads = intValue(values, "server-threads", options.serverThreads);
+        values.keySet().removeAll(KNOWN);
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        return options;
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
@@ -0,0 +1,105 @@
+package com.quizmaster.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Local stand-in for the OpenRouter chat completions endpoint.
+// Answers after a fixed delay with a canned completion: quiz or flashcard JSON when the prompt
+// asks for one, plain text otherwise, plus a usage block like the real API.
+class OpenrouterStub {
+
+    static final String PATH = "/api/v1/chat/completions";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long latencyMs;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    OpenrouterStub(long latencyMs, int threads) throws IOException {
+        this.latencyMs = latencyMs;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        // Each in-flight completion holds a thread for the simulated latency
+        this.executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + PATH;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            JsonNode request = objectMapper.readTree(body);
+            String prompt = request.path("messages").toString().toLowerCase();
+            String content;
+            if (prompt.contains("flashcard")) {
+                content = FLASHCARD_JSON;
+            } else if (prompt.contains("quiz")) {
+                content = "Here is your quiz:\n```json\n" + QUIZ_JSON + "\n```";
+            } else {
+                content = "That is a good question. The short answer is that it depends on the context, "
+                        + "but the key idea is to break the problem into smaller steps and check each one.";
+            }
+
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+
+            ObjectNode response = objectMapper.createObjectNode();
+            response.put("id", "stub-" + System.nanoTime());
+            response.put("model", request.path("model").asText("stub"));
+            response.putArray("choices").addObject()
+                    .put("index", 0)
+                    .put("finish_reason", "stop")
+                    .putObject("message")
+                    .put("role", "assistant")
+                    .put("content", content);
+            response.putObject("usage")
+                    .put("prompt_tokens", prompt.length() / 4)
+                    .put("completion_tokens", content.length() / 4)
+                    .put("total_tokens", (prompt.length() + content.length()) / 4);
+
+            byte[] bytes = objectMapper.writeValueAsBytes(response);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static final String QUIZ_JSON = ("{'title':'Generated quiz','description':'Stub quiz','questions':["
+            + "{'text':'What is 2 + 2?','type':'SINGLE_CHOICE','options':[{'text':'3','isCorrect':false},{'text':'4','isCorrect':true}],'explanation':'Basic addition'},"
+            + "{'text':'Which are primes?','type':'MULTIPLE_CHOICE','options':[{'text':'2','isCorrect':true},{'text':'3','isCorrect':true},{'text':'4','isCorrect':false}],'explanation':'2 and 3'},"
+            + "{'text':'The sky is blue.','type':'TRUE_FALSE','options':[{'text':'True','isCorrect':true},{'text':'False','isCorrect':false}],'explanation':'Rayleigh scattering'}"
+            + "]}").replace('\'', '"');
+
+    private static final String FLASHCARD_JSON = ("{'title':'Generated deck','description':'Stub deck','cards':["
+            + "{'front':'Bonjour','back':'Hello'},{'front':'Merci','back':'Thank you'},{'front':'Au revoir','back':'Goodbye'}"
+            + "]}").replace('\'', '"');
+}
@@ -0,0 +1,63 @@
+package com.quizmaster.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.quizmaster.dto.response.CacheStatsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// Results of requests sent with an Idempotency-Key header, kept briefly per user and operation.
+// A retry with the same key gets the first result; concurrent duplicates wait for the first one
+// instead of running the operation again. A failure is reported to the duplicates already waiting
+// but is not cached, so a later retry runs the operation again.
+@Component
+public class IdempotencyCache implements MeterBinder {
+
+    private final AsyncCache<String, Object> cache;
+
+    public IdempotencyCache(
+            @Value("${quizmaster.idempotency.max-size:100000}") long maxSize,
+            @Value("${quizmaster.idempotency.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String username, String operation, String idempotencyKey, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        String key = username + ":" + operation + ":" + idempotencyKey;
+        return (T) Loads.getOrLoad(cache, key, action::get);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "idempotency-keys");
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return CacheStatsResponse.builder()
+                .name("idempotency-keys")
+                .size(cache.synchronous().estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .loadCount(stats.loadCount())
+                .evictionCount(stats.evictionCount())
+                .averageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000d)
+                .build();
+    }
+}
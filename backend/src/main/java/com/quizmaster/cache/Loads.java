@@ -0,0 +1,43 @@
+package com.quizmaster.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Read-through for async caches where the caller that misses runs the load itself.
+// Caffeine only installs an incomplete future inside ConcurrentHashMap.compute and the blocking
+// load runs afterwards, outside the bin lock. Concurrent callers for the same key park on the
+// future instead of blocking in compute, which would pin their carrier thread in virtual-thread mode.
+final class Loads {
+
+    private Loads() {
+    }
+
+    // A null or failed result is not kept, Caffeine removes such futures once they complete
+    static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> entry = cache.get(key, (k, executor) -> loading);
+        if (entry == loading) {
+            try {
+                loading.complete(loader.get());
+            } catch (Throwable e) {
+                // Errors too, otherwise the future never completes and later callers for the key wait forever
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
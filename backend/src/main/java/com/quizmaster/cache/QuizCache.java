@@ -0,0 +1,104 @@
+package com.quizmaster.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.quizmaster.dto.response.CacheStatsResponse;
+import com.quizmaster.dto.response.QuizResponse;
+import com.quizmaster.model.Quiz;
+import com.quizmaster.repository.QuizRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Bounded read-through cache of quiz documents keyed by quiz id.
+// Concurrent misses for the same id are collapsed into a single database load.
+@Component
+public class QuizCache implements MeterBinder {
+
+    private final QuizRepository quizRepository;
+    private final AsyncCache<String, CachedQuiz> cache;
+
+    public QuizCache(
+            QuizRepository quizRepository,
+            @Value("${quizmaster.cache.quiz.max-size:10000}") long maxSize,
+            @Value("${quizmaster.cache.quiz.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.quizRepository = quizRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<CachedQuiz> get(String quizId) {
+        // Missing quizzes are not cached, the loader returns null for them
+        return Optional.ofNullable(Loads.getOrLoad(cache, quizId, () -> load(quizId)));
+    }
+
+    public void put(Quiz quiz) {
+        cache.synchronous().put(quiz.getId(), new CachedQuiz(quiz));
+    }
+
+    public void invalidate(String quizId) {
+        cache.synchronous().invalidate(quizId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "quizzes");
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return CacheStatsResponse.builder()
+                .name("quizzes")
+                .size(cache.synchronous().estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .loadCount(stats.loadCount())
+                .evictionCount(stats.evictionCount())
+                .averageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000d)
+                .build();
+    }
+
+    private CachedQuiz load(String quizId) {
+        return quizRepository.findById(quizId)
+                .map(CachedQuiz::new)
+                .orElse(null);
+    }
+
+    // Cached quiz document together with its lazily rendered response.
+    // Entries are shared between requests and must be treated as read-only.
+    public static class CachedQuiz {
+
+        private final Quiz quiz;
+        private volatile QuizResponse response;
+
+        CachedQuiz(Quiz quiz) {
+            this.quiz = quiz;
+        }
+
+        public Quiz getQuiz() {
+            return quiz;
+        }
+
+        public QuizResponse getResponse(Function<Quiz, QuizResponse> mapper) {
+            QuizResponse rendered = response;
+            if (rendered == null) {
+                // Racing renders produce equal responses, so the last write winning is harmless
+                rendered = mapper.apply(quiz);
+                response = rendered;
+            }
+            return rendered;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.quizmaster.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.quizmaster.config.PayloadFormat;
+import com.quizmaster.config.PayloadMappers;
+import com.quizmaster.dto.response.CacheStatsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// Caches the serialized body (and its gzip encoding) of immutable document versions.
+// Entries are keyed by document type, id, updatedAt and payload format, so a new version never sees a stale body.
+@Component
+public class ResponseBodyCache implements MeterBinder {
+
+    private static final int GZIP_MIN_SIZE = 1024;
+
+    private final PayloadMappers payloadMappers;
+    private final Cache<String, SerializedBody> cache;
+
+    public ResponseBodyCache(
+            PayloadMappers payloadMappers,
+            @Value("${quizmaster.cache.response-body.max-bytes:67108864}") long maxBytes,
+            @Value("${quizmaster.cache.response-body.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.payloadMappers = payloadMappers;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, SerializedBody body) -> body.weight())
+                .expireAfterAccess(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public SerializedBody get(String type, String id, LocalDateTime updatedAt, PayloadFormat format, Supplier<?> bodySupplier) {
+        String version = versionOf(updatedAt);
+        String key = type + ":" + id + ":" + version + ":" + format;
+        return cache.get(key, k -> serialize(id, version, format, bodySupplier.get()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "response-bodies");
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .name("response-bodies")
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .loadCount(stats.loadCount())
+                .evictionCount(stats.evictionCount())
+                .averageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000d)
+                .build();
+    }
+
+    private SerializedBody serialize(String id, String version, PayloadFormat format, Object body) {
+        try {
+            byte[] serialized = payloadMappers.get(format).writeValueAsBytes(body);
+            // Small bodies are not worth the gzip framing overhead
+            byte[] gzip = serialized.length >= GZIP_MIN_SIZE ? gzip(serialized) : null;
+            return new SerializedBody("\"" + id + "-" + version + format.getETagSuffix() + "\"", format, serialized, gzip);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize response: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(data);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compress response: " + e.getMessage(), e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String versionOf(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return "0";
+        }
+        long millis = updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return Long.toHexString(millis);
+    }
+
+    // Serialized response body for one document version, with its strong ETags
+    public static class SerializedBody {
+
+        private final String eTag;
+        private final PayloadFormat format;
+        private final byte[] body;
+        private final byte[] gzip;
+
+        SerializedBody(String eTag, PayloadFormat format, byte[] body, byte[] gzip) {
+            this.eTag = eTag;
+            this.format = format;
+            this.body = body;
+            this.gzip = gzip;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        // The gzip-encoded body is a different representation, so it gets its own strong ETag
+        public String getGzipETag() {
+            return eTag.substring(0, eTag.length() - 1) + "-gz\"";
+        }
+
+        public PayloadFormat getFormat() {
+            return format;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public boolean hasGzip() {
+            return gzip != null;
+        }
+
+        int weight() {
+            return body.length + (gzip != null ? gzip.length : 0) + eTag.length();
+        }
+    }
+}
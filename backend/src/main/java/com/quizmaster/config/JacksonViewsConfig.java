@@ -0,0 +1,28 @@
+package com.quizmaster.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizmaster.model.Views;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Every mapper built by Spring (JSON, Smile, CBOR) serializes with the Public view, which lets responses
+// reference quiz documents directly instead of copying them into DTOs just to drop the answer key.
+// Properties without a view stay included, so only AnswerKey ones are hidden.
+@Configuration
+public class JacksonViewsConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer publicViewCustomizer() {
+        // Spring's builder turns view inclusion off unless told otherwise
+        return builder -> builder
+                .defaultViewInclusion(true)
+                .postConfigurer(JacksonViewsConfig::usePublicView);
+    }
+
+    // Also used on mappers built outside Spring, where Jackson's default already includes view-less properties
+    public static ObjectMapper usePublicView(ObjectMapper mapper) {
+        mapper.setConfig(mapper.getSerializationConfig().withView(Views.Public.class));
+        return mapper;
+    }
+}
@@ -0,0 +1,17 @@
+package com.quizmaster.config;
+
+import com.quizmaster.metrics.LlmMetrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Model names come from requests; beyond this many distinct values new series are dropped
+    @Bean
+    public MeterFilter llmModelCardinalityLimit(@Value("${quizmaster.metrics.llm.max-models:20}") int maxModels) {
+        return MeterFilter.maximumAllowableTags(LlmMetrics.PREFIX, "model", maxModels, MeterFilter.deny());
+    }
+}
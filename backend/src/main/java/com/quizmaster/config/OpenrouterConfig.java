@@ -3,23 +3,48 @@ package com.quizmaster.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class OpenrouterConfig {
-    
+
     @Value("${OPENROUTER_API_KEY}")
     private String apiKey;
-    
+
     @Value("${openrouter.api.url}")
     private String apiUrl;
-    
+
+    @Value("${openrouter.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${openrouter.read-timeout-ms:60000}")
+    private long readTimeoutMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @Bean
     public RestTemplate openrouterRestTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
+        // java.net.http blocks by parking, so a completion in flight does not pin the carrier of a virtual caller
+        HttpClient.Builder httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs));
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("openrouter-");
+            executor.setVirtualThreads(true);
+            httpClient.executor(executor);
+        }
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient.build());
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
         restTemplate.getInterceptors().add((request, body, execution) -> {
-            request.getHeaders().add("Authorization", "Bearer " + apiKey);
-            request.getHeaders().add("HTTP-Referer", "https://quizmaster-ai.com");
+            request.getHeaders().set("Authorization", "Bearer " + apiKey);
+            request.getHeaders().set("HTTP-Referer", "https://quizmaster.ai");
             return execution.execute(request, body);
         });
         return restTemplate;
@@ -0,0 +1,56 @@
+package com.quizmaster.config;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+// Encodings the API can produce for the same DTOs. JSON stays the default; Smile and CBOR are
+// binary Jackson encodings that are smaller and cheaper to parse on low-end mobile devices.
+public enum PayloadFormat {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    SMILE(new MediaType("application", "x-jackson-smile"), "-smile"),
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor");
+
+    private final MediaType mediaType;
+    private final String eTagSuffix;
+
+    PayloadFormat(MediaType mediaType, String eTagSuffix) {
+        this.mediaType = mediaType;
+        this.eTagSuffix = eTagSuffix;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    // Distinguishes the representations of one document version, which must not share a strong ETag
+    public String getETagSuffix() {
+        return eTagSuffix;
+    }
+
+    // Highest-quality acceptable format; wildcards, ties and anything unsupported resolve to JSON
+    public static PayloadFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        PayloadFormat best = JSON;
+        double bestQuality = -1;
+        for (MediaType mediaType : accepted) {
+            for (PayloadFormat format : values()) {
+                if (mediaType.includes(format.mediaType) && mediaType.getQualityValue() > bestQuality) {
+                    best = format;
+                    bestQuality = mediaType.getQualityValue();
+                }
+            }
+        }
+        return best;
+    }
+}
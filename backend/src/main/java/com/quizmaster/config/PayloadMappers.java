@@ -0,0 +1,30 @@
+package com.quizmaster.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// The ObjectMapper behind each payload format, for code that serializes outside the message converters
+@Component
+public class PayloadMappers {
+
+    private final Map<PayloadFormat, ObjectMapper> mappers = new EnumMap<>(PayloadFormat.class);
+
+    public PayloadMappers(
+            ObjectMapper objectMapper,
+            MappingJackson2SmileHttpMessageConverter smileConverter,
+            MappingJackson2CborHttpMessageConverter cborConverter
+    ) {
+        mappers.put(PayloadFormat.JSON, objectMapper);
+        mappers.put(PayloadFormat.SMILE, smileConverter.getObjectMapper());
+        mappers.put(PayloadFormat.CBOR, cborConverter.getObjectMapper());
+    }
+
+    public ObjectMapper get(PayloadFormat format) {
+        return mappers.get(format);
+    }
+}
@@ -1,7 +1,15 @@
 package com.quizmaster.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -14,6 +22,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.quizmaster.security.BoundedPasswordEncoder;
 import com.quizmaster.security.JwtAuthenticationFilter;
 
 import lombok.RequiredArgsConstructor;
@@ -28,6 +37,15 @@ public class SecurityConfig {
 
    private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+   @Value("${quizmaster.password.hash-threads:0}")
+   private int hashThreads;
+
+   @Value("${quizmaster.password.queue-capacity:64}")
+   private int hashQueueCapacity;
+
+   @Value("${quizmaster.password.max-wait-ms:2000}")
+   private long hashMaxWaitMs;
+
    @Bean
    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
        // Updated to use the newer API style without deprecated methods
@@ -36,7 +54,14 @@ public class SecurityConfig {
            .csrf(csrf -> csrf.disable())
            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
            .authorizeHttpRequests(authorize -> authorize
+               // Streamed responses finish on an async dispatch; the original request was already authorized
+               .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                .requestMatchers("/api/v1/auth/**", "/api/v1/swagger-ui/**", "/api/v1/v3/api-docs/**").permitAll()
+               // Authenticated by LiveHandshakeInterceptor from the token query parameter
+               .requestMatchers("/api/v1/live/ws").permitAll()
+               // Probes and scraping are served on the management port only
+               .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+               .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
                .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                .anyRequest().authenticated()
            )
@@ -50,15 +75,23 @@ public class SecurityConfig {
        CorsConfiguration configuration = new CorsConfiguration();
        configuration.setAllowedOrigins(Arrays.asList("*"));
        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-       configuration.setAllowedHeaders(Arrays.asList("authorization", "content-type", "x-auth-token"));
-       configuration.setExposedHeaders(Arrays.asList("x-auth-token"));
+       configuration.setAllowedHeaders(Arrays.asList("authorization", "content-type", "x-auth-token", "if-none-match", "idempotency-key"));
+       configuration.setExposedHeaders(Arrays.asList("x-auth-token", "etag", "x-total-count"));
        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
        source.registerCorsConfiguration("/**", configuration);
        return source;
    }
 
+   // Used by AuthService.login; backed by the UserDetailsService and PasswordEncoder beans
+   @Bean
+   public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
+       return authenticationConfiguration.getAuthenticationManager();
+   }
+
+   // BCrypt runs on its own bounded pool; 0 threads means half the available cores
    @Bean
-   public PasswordEncoder passwordEncoder() {
-       return new BCryptPasswordEncoder();
+   public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+       int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+       return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, hashQueueCapacity, hashMaxWaitMs, meterRegistry);
    }
 }
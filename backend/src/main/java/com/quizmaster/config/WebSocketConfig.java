@@ -0,0 +1,38 @@
+package com.quizmaster.config;
+
+import com.quizmaster.live.LiveHandshakeInterceptor;
+import com.quizmaster.live.LiveQuizWebSocketHandler;
+import com.quizmaster.service.LiveRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final LiveQuizWebSocketHandler liveQuizWebSocketHandler;
+    private final LiveHandshakeInterceptor liveHandshakeInterceptor;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(liveQuizWebSocketHandler, LiveRoomService.SOCKET_PATH)
+                .addInterceptors(liveHandshakeInterceptor)
+                .setAllowedOriginPatterns("*");
+    }
+
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        // Client messages are tiny answers; small buffers keep thousands of idle sockets cheap
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(8192);
+        container.setMaxBinaryMessageBufferSize(8192);
+        container.setMaxSessionIdleTimeout(30L * 60 * 1000);
+        return container;
+    }
+}
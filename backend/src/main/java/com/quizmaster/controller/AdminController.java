@@ -1,12 +1,17 @@
 package com.quizmaster.controller;
 
+import com.quizmaster.cache.IdempotencyCache;
+import com.quizmaster.cache.QuizCache;
+import com.quizmaster.cache.ResponseBodyCache;
 import com.quizmaster.dto.request.UpdateUserStatusRequest;
 import com.quizmaster.dto.response.AdminDashboardStatsResponse;
+import com.quizmaster.dto.response.CacheStatsResponse;
 import com.quizmaster.dto.response.FlashcardResponse;
 import com.quizmaster.dto.response.MessageResponse;
 import com.quizmaster.dto.response.QuizResponse;
 import com.quizmaster.dto.response.UserAdminResponse;
 import com.quizmaster.service.AdminService;
+import com.quizmaster.service.ContentExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -23,6 +28,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -35,6 +41,10 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final QuizCache quizCache;
+    private final ResponseBodyCache responseBodyCache;
+    private final IdempotencyCache idempotencyCache;
+    private final ContentExportService contentExportService;
 
     @Operation(summary = "Get dashboard statistics", description = "Retrieves statistics for the admin dashboard")
     @ApiResponses(value = {
@@ -79,6 +89,23 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getUserById(userId));
     }
 
+    @Operation(summary = "Export user data", description = "Streams a user's account, content and history as NDJSON, e.g. for data access requests or backups")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - not an admin"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @GetMapping("/users/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportUserData(
+            @PathVariable String userId,
+            @RequestParam(required = false) String afterCollection,
+            @RequestParam(required = false) String afterId,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        return ExportController.exportResponse(contentExportService.exportUser(userId, afterCollection, afterId, gzip), gzip);
+    }
+
     @Operation(summary = "Update user status", description = "Updates a user's enabled and locked status")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User status updated successfully", 
@@ -114,4 +141,15 @@ public class AdminController {
     public ResponseEntity<List<FlashcardResponse>> getRecentFlashcards(@RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(adminService.getRecentFlashcards(limit));
     }
+
+    @Operation(summary = "Get cache statistics", description = "Retrieves hit rate and size statistics for the in-process caches")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cache statistics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - not an admin")
+    })
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(List.of(quizCache.stats(), responseBodyCache.stats(), idempotencyCache.stats()));
+    }
 }
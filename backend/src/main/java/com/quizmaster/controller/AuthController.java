@@ -11,6 +11,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -29,26 +30,56 @@ public class AuthController {
         @ApiResponse(responseCode = "200", description = "User registered successfully", 
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
-        @ApiResponse(responseCode = "409", description = "Username or email already exists")
+        @ApiResponse(responseCode = "409", description = "Username or email already exists"),
+        @ApiResponse(responseCode = "429", description = "Too many attempts from this client")
     })
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(
-            @Valid @RequestBody RegisterRequest request
+            @Valid @RequestBody RegisterRequest request,
+            HttpServletRequest httpRequest
     ) {
-        return ResponseEntity.ok(authService.register(request));
+        return ResponseEntity.ok(authService.register(request, httpRequest.getRemoteAddr()));
     }
 
     @Operation(summary = "Login user", description = "Authenticates a user and returns authentication tokens")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User logged in successfully", 
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))),
-        @ApiResponse(responseCode = "401", description = "Invalid credentials")
+        @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+        @ApiResponse(responseCode = "429", description = "Too many attempts for this client or username")
     })
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(
-            @Valid @RequestBody LoginRequest request
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest
     ) {
-        return ResponseEntity.ok(authService.login(request));
+        return ResponseEntity.ok(authService.login(request, httpRequest.getRemoteAddr()));
+    }
+    
+    @Operation(summary = "Refresh tokens", description = "Exchanges a refresh token for a new access token and a rotated refresh token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tokens refreshed successfully", 
+                    content = @Content(schema = @Schema(implementation = AuthResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Invalid, expired or revoked refresh token")
+    })
+    @PostMapping("/refresh-token")
+    public ResponseEntity<AuthResponse> refresh(
+            @Valid @RequestBody RefreshTokenRequest request
+    ) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @Operation(summary = "Logout", description = "Revokes the refresh token and every token rotated from the same login")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Logged out successfully", 
+                    content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Invalid or expired refresh token")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponse> logout(
+            @Valid @RequestBody RefreshTokenRequest request
+    ) {
+        return ResponseEntity.ok(authService.logout(request));
     }
     
     @Operation(summary = "Verify email", description = "Verifies user email with the provided token")
@@ -81,13 +112,15 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Password reset successfully", 
                     content = @Content(schema = @Schema(implementation = MessageResponse.class))),
-        @ApiResponse(responseCode = "400", description = "Invalid or expired reset token")
+        @ApiResponse(responseCode = "400", description = "Invalid or expired reset token"),
+        @ApiResponse(responseCode = "429", description = "Too many attempts from this client")
     })
     @PostMapping("/reset-password")
     public ResponseEntity<MessageResponse> resetPassword(
-            @Valid @RequestBody ResetPasswordRequest request
+            @Valid @RequestBody ResetPasswordRequest request,
+            HttpServletRequest httpRequest
     ) {
-        return ResponseEntity.ok(authService.resetPassword(request));
+        return ResponseEntity.ok(authService.resetPassword(request, httpRequest.getRemoteAddr()));
     }
     
     @Operation(
@@ -99,7 +132,8 @@ public class AuthController {
         @ApiResponse(responseCode = "200", description = "Password changed successfully", 
                     content = @Content(schema = @Schema(implementation = MessageResponse.class))),
         @ApiResponse(responseCode = "400", description = "Current password is incorrect"),
-        @ApiResponse(responseCode = "401", description = "Unauthorized")
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "429", description = "Too many attempts for this user")
     })
     @PostMapping("/change-password")
     public ResponseEntity<MessageResponse> changePassword(
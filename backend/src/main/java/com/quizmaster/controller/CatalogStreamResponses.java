@@ -0,0 +1,20 @@
+package com.quizmaster.controller;
+
+import com.quizmaster.service.CatalogStreamWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+// Responses for streamed catalog listings, whose encoding is negotiated from the Accept header
+final class CatalogStreamResponses {
+
+    private CatalogStreamResponses() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> of(StreamingResponseBody body, CatalogStreamWriter.Encoding encoding) {
+        return ResponseEntity.ok()
+                .contentType(encoding.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(body);
+    }
+}
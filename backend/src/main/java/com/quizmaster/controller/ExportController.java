@@ -0,0 +1,47 @@
+package com.quizmaster.controller;
+
+import com.quizmaster.service.ContentExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+@Tag(name = "Export", description = "Data export API endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class ExportController {
+
+    private final ContentExportService contentExportService;
+
+    @Operation(summary = "Export my data", description = "Streams the current user's account, quizzes, flashcards, attempts, studies, review states and chat sessions as NDJSON. "
+            + "To resume an interrupted download, pass the collection and _id of the last complete line")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportMyData(
+            @RequestParam(required = false) String afterCollection,
+            @RequestParam(required = false) String afterId,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        return exportResponse(contentExportService.exportCurrentUser(afterCollection, afterId, gzip), gzip);
+    }
+
+    static ResponseEntity<StreamingResponseBody> exportResponse(StreamingResponseBody body, boolean gzip) {
+        String filename = gzip ? "quizmaster-export.ndjson.gz" : "quizmaster-export.ndjson";
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
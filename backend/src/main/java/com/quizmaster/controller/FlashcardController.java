@@ -1,11 +1,20 @@
 package com.quizmaster.controller;
 
+import com.quizmaster.config.PayloadFormat;
 import com.quizmaster.dto.request.CreateFlashcardRequest;
+import com.quizmaster.dto.request.FlashcardProgressRequest;
 import com.quizmaster.dto.request.SubmitFlashcardStudyRequest;
+import com.quizmaster.dto.response.DueCardsResponse;
+import com.quizmaster.dto.response.FacetedPageResponse;
+import com.quizmaster.dto.response.FlashcardProgressResponse;
 import com.quizmaster.dto.response.FlashcardResponse;
 import com.quizmaster.dto.response.FlashcardStudyResponse;
+import com.quizmaster.dto.response.ImportReportResponse;
 import com.quizmaster.dto.response.MessageResponse;
+import com.quizmaster.service.CatalogStreamWriter;
+import com.quizmaster.service.ContentImportService;
 import com.quizmaster.service.FlashcardService;
+import com.quizmaster.service.SpacedRepetitionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,9 +24,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -28,6 +44,8 @@ import java.util.List;
 public class FlashcardController {
 
     private final FlashcardService flashcardService;
+    private final SpacedRepetitionService spacedRepetitionService;
+    private final ContentImportService contentImportService;
 
     @Operation(summary = "Create a new flashcard", description = "Creates a new flashcard with cards")
     @ApiResponses(value = {
@@ -41,6 +59,28 @@ public class FlashcardController {
         return ResponseEntity.ok(flashcardService.createFlashcard(request));
     }
 
+    @Operation(summary = "Bulk import flashcards (NDJSON)", description = "Streams an NDJSON upload with one create-flashcard request per line. Valid sets are stored in batches; invalid lines are listed in the report")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Upload processed",
+                    content = @Content(schema = @Schema(implementation = ImportReportResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReportResponse> importFlashcardsNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(contentImportService.importFlashcardsNdjson(body));
+    }
+
+    @Operation(summary = "Bulk import flashcards (CSV)", description = "Streams a CSV upload with a header row and one card per row. Columns: deck, front, back and optionally description, tags (separated by ';'), public and imageUrl. Consecutive rows with the same deck form one set")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Upload processed",
+                    content = @Content(schema = @Schema(implementation = ImportReportResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReportResponse> importFlashcardsCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(contentImportService.importFlashcardsCsv(body));
+    }
+
     @Operation(summary = "Get all flashcards", description = "Retrieves all flashcards")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Flashcards retrieved successfully"),
@@ -51,14 +91,17 @@ public class FlashcardController {
         return ResponseEntity.ok(flashcardService.getAllFlashcards());
     }
 
-    @Operation(summary = "Get public flashcards", description = "Retrieves all public flashcards")
+    @Operation(summary = "Get public flashcards", description = "Streams all public flashcards as an array (JSON, Smile or CBOR by Accept header), or as NDJSON when requested with Accept: application/x-ndjson")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Public flashcards retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/public")
-    public ResponseEntity<List<FlashcardResponse>> getPublicFlashcards() {
-        return ResponseEntity.ok(flashcardService.getPublicFlashcards());
+    public ResponseEntity<StreamingResponseBody> getPublicFlashcards(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        CatalogStreamWriter.Encoding encoding = CatalogStreamWriter.Encoding.forAccept(accept);
+        return CatalogStreamResponses.of(flashcardService.streamPublicFlashcards(encoding), encoding);
     }
 
     @Operation(summary = "Get my flashcards", description = "Retrieves flashcards created by the authenticated user")
@@ -71,36 +114,77 @@ public class FlashcardController {
         return ResponseEntity.ok(flashcardService.getMyFlashcards());
     }
 
-    @Operation(summary = "Get flashcards by tag", description = "Retrieves flashcards with the specified tag")
+    @Operation(summary = "Get flashcards by tag", description = "Streams flashcards with the specified tag as an array (JSON, Smile or CBOR by Accept header), or as NDJSON when requested with Accept: application/x-ndjson")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Flashcards retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/tag/{tag}")
-    public ResponseEntity<List<FlashcardResponse>> getFlashcardsByTag(@PathVariable String tag) {
-        return ResponseEntity.ok(flashcardService.getFlashcardsByTag(tag));
+    public ResponseEntity<StreamingResponseBody> getFlashcardsByTag(
+            @PathVariable String tag,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        CatalogStreamWriter.Encoding encoding = CatalogStreamWriter.Encoding.forAccept(accept);
+        return CatalogStreamResponses.of(flashcardService.streamFlashcardsByTag(tag, encoding), encoding);
     }
 
-    @Operation(summary = "Search flashcards", description = "Searches flashcards by title")
+    @Operation(summary = "Browse flashcards by tags", description = "Returns flashcards carrying all of the given tags that are public or owned by the caller, optionally restricted to one creator, newest first, with tag counts over all matches")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Flashcards retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/browse")
+    public ResponseEntity<FacetedPageResponse<FlashcardResponse>> browseFlashcards(
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(required = false) String createdBy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(flashcardService.browseFlashcards(tags, createdBy, Math.max(page, 0), Math.min(Math.max(size, 1), 100)));
+    }
+
+    @Operation(summary = "Get due cards", description = "Retrieves the authenticated user's cards that are due for review across all flashcard sets, oldest due first. Pass nextCursor from the previous page as cursor to continue")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Due cards retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/due")
+    public ResponseEntity<DueCardsResponse> getDueCards(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(spacedRepetitionService.getDueCards(cursor, Math.min(Math.max(limit, 1), 200)));
+    }
+
+    @Operation(summary = "Search flashcards", description = "Full-text search over title, description, tags and content, ranked by relevance. The total number of hits is returned in the X-Total-Count header")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Flashcards retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/search")
-    public ResponseEntity<List<FlashcardResponse>> searchFlashcards(@RequestParam String keyword) {
-        return ResponseEntity.ok(flashcardService.searchFlashcards(keyword));
+    public ResponseEntity<List<FlashcardResponse>> searchFlashcards(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Page<FlashcardResponse> results = flashcardService.searchFlashcards(keyword, Math.max(page, 0), Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(results.getTotalElements()))
+                .body(results.getContent());
     }
 
     @Operation(summary = "Get flashcard by ID", description = "Retrieves a flashcard by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Flashcard retrieved successfully", 
                     content = @Content(schema = @Schema(implementation = FlashcardResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Flashcard not modified since the supplied ETag"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "404", description = "Flashcard not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<FlashcardResponse> getFlashcardById(@PathVariable String id) {
-        return ResponseEntity.ok(flashcardService.getFlashcardById(id));
+    public ResponseEntity<byte[]> getFlashcardById(@PathVariable String id, WebRequest webRequest) {
+        return SerializedBodyResponses.of(flashcardService.getSerializedFlashcardById(id,
+                PayloadFormat.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT))), webRequest);
     }
 
     @Operation(summary = "Start a flashcard study", description = "Starts a new flashcard study session")
@@ -115,7 +199,35 @@ public class FlashcardController {
         return ResponseEntity.ok(flashcardService.startFlashcardStudy(id));
     }
 
-    @Operation(summary = "Submit a flashcard study", description = "Submits results for a flashcard study session")
+    @Operation(summary = "Sync flashcard study progress", description = "Applies a small batch of card results to an open study session. Batches carry increasing sequence numbers; a replayed or out-of-order batch is acknowledged without being applied")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Progress recorded",
+                    content = @Content(schema = @Schema(implementation = FlashcardProgressResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "Flashcard study not found")
+    })
+    @PostMapping("/studies/{studyId}/progress")
+    public ResponseEntity<FlashcardProgressResponse> recordStudyProgress(
+            @PathVariable String studyId,
+            @Valid @RequestBody FlashcardProgressRequest request
+    ) {
+        return ResponseEntity.ok(flashcardService.recordStudyProgress(studyId, request));
+    }
+
+    @Operation(summary = "Get flashcard study progress", description = "Returns the card results synced so far and the last applied sequence number, for resuming a session")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Progress retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = FlashcardProgressResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "Flashcard study not found")
+    })
+    @GetMapping("/studies/{studyId}/progress")
+    public ResponseEntity<FlashcardProgressResponse> getStudyProgress(@PathVariable String studyId) {
+        return ResponseEntity.ok(flashcardService.getStudyProgress(studyId));
+    }
+
+    @Operation(summary = "Submit a flashcard study", description = "Completes a flashcard study session. Results already synced through the progress endpoint are merged with any sent here. Submitting a completed study again returns the stored result; retries sent with the same Idempotency-Key are answered from a short-lived cache")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Flashcard study submitted successfully", 
                     content = @Content(schema = @Schema(implementation = FlashcardStudyResponse.class))),
@@ -126,9 +238,10 @@ public class FlashcardController {
     @PostMapping("/studies/{studyId}/submit")
     public ResponseEntity<FlashcardStudyResponse> submitFlashcardStudy(
             @PathVariable String studyId,
-            @Valid @RequestBody SubmitFlashcardStudyRequest request
+            @Valid @RequestBody SubmitFlashcardStudyRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        return ResponseEntity.ok(flashcardService.submitFlashcardStudy(studyId, request));
+        return ResponseEntity.ok(flashcardService.submitFlashcardStudy(studyId, request, idempotencyKey));
     }
 
     @Operation(summary = "Get my flashcard studies", description = "Retrieves flashcard studies by the authenticated user")
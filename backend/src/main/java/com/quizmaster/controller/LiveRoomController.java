@@ -0,0 +1,51 @@
+package com.quizmaster.controller;
+
+import com.quizmaster.dto.request.CreateLiveRoomRequest;
+import com.quizmaster.dto.response.LiveRoomResponse;
+import com.quizmaster.service.LiveRoomService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/live/rooms")
+@RequiredArgsConstructor
+@Tag(name = "Live", description = "Live multiplayer quiz room API endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class LiveRoomController {
+
+    private final LiveRoomService liveRoomService;
+
+    @Operation(summary = "Create a live room", description = "Creates a live room for a quiz with the authenticated user as host. Host and participants then connect to the WebSocket at socketPath with room and token query parameters")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Live room created successfully",
+                    content = @Content(schema = @Schema(implementation = LiveRoomResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "Quiz not found")
+    })
+    @PostMapping
+    public ResponseEntity<LiveRoomResponse> createRoom(@Valid @RequestBody CreateLiveRoomRequest request) {
+        return ResponseEntity.ok(liveRoomService.createRoom(request.getQuizId()));
+    }
+
+    @Operation(summary = "Get a live room", description = "Retrieves the phase and participant count of a live room")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Live room retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = LiveRoomResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "Live room not found")
+    })
+    @GetMapping("/{code}")
+    public ResponseEntity<LiveRoomResponse> getRoom(@PathVariable String code) {
+        return ResponseEntity.ok(liveRoomService.getRoom(code));
+    }
+}
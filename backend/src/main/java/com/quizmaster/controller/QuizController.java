@@ -1,10 +1,21 @@
 package com.quizmaster.controller;
 
+import com.quizmaster.config.PayloadFormat;
 import com.quizmaster.dto.request.CreateQuizRequest;
+import com.quizmaster.dto.request.SaveAnswersRequest;
 import com.quizmaster.dto.request.SubmitQuizRequest;
+import com.quizmaster.dto.response.FacetedPageResponse;
+import com.quizmaster.dto.response.ImportReportResponse;
+import com.quizmaster.dto.response.LeaderboardEntryResponse;
+import com.quizmaster.dto.response.LeaderboardResponse;
 import com.quizmaster.dto.response.MessageResponse;
+import com.quizmaster.dto.response.QuizAnalyticsResponse;
 import com.quizmaster.dto.response.QuizAttemptResponse;
 import com.quizmaster.dto.response.QuizResponse;
+import com.quizmaster.service.CatalogStreamWriter;
+import com.quizmaster.service.ContentImportService;
+import com.quizmaster.service.LeaderboardService;
+import com.quizmaster.service.QuizAnalyticsService;
 import com.quizmaster.service.QuizService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,9 +26,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -28,6 +46,9 @@ import java.util.List;
 public class QuizController {
 
     private final QuizService quizService;
+    private final QuizAnalyticsService quizAnalyticsService;
+    private final LeaderboardService leaderboardService;
+    private final ContentImportService contentImportService;
 
     @Operation(summary = "Create a new quiz", description = "Creates a new quiz with questions and options")
     @ApiResponses(value = {
@@ -41,6 +62,17 @@ public class QuizController {
         return ResponseEntity.ok(quizService.createQuiz(request));
     }
 
+    @Operation(summary = "Bulk import quizzes", description = "Streams an NDJSON upload with one create-quiz request per line. Valid quizzes are stored in batches; invalid lines are listed in the report")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Upload processed",
+                    content = @Content(schema = @Schema(implementation = ImportReportResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReportResponse> importQuizzes(InputStream body) throws IOException {
+        return ResponseEntity.ok(contentImportService.importQuizzes(body));
+    }
+
     @Operation(summary = "Get all quizzes", description = "Retrieves all quizzes")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Quizzes retrieved successfully"),
@@ -51,14 +83,17 @@ public class QuizController {
         return ResponseEntity.ok(quizService.getAllQuizzes());
     }
 
-    @Operation(summary = "Get public quizzes", description = "Retrieves all public quizzes")
+    @Operation(summary = "Get public quizzes", description = "Streams all public quizzes as an array (JSON, Smile or CBOR by Accept header), or as NDJSON when requested with Accept: application/x-ndjson")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Public quizzes retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/public")
-    public ResponseEntity<List<QuizResponse>> getPublicQuizzes() {
-        return ResponseEntity.ok(quizService.getPublicQuizzes());
+    public ResponseEntity<StreamingResponseBody> getPublicQuizzes(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        CatalogStreamWriter.Encoding encoding = CatalogStreamWriter.Encoding.forAccept(accept);
+        return CatalogStreamResponses.of(quizService.streamPublicQuizzes(encoding), encoding);
     }
 
     @Operation(summary = "Get my quizzes", description = "Retrieves quizzes created by the authenticated user")
@@ -71,36 +106,104 @@ public class QuizController {
         return ResponseEntity.ok(quizService.getMyQuizzes());
     }
 
-    @Operation(summary = "Get quizzes by tag", description = "Retrieves quizzes with the specified tag")
+    @Operation(summary = "Get quizzes by tag", description = "Streams quizzes with the specified tag as an array (JSON, Smile or CBOR by Accept header), or as NDJSON when requested with Accept: application/x-ndjson")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Quizzes retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/tag/{tag}")
-    public ResponseEntity<List<QuizResponse>> getQuizzesByTag(@PathVariable String tag) {
-        return ResponseEntity.ok(quizService.getQuizzesByTag(tag));
+    public ResponseEntity<StreamingResponseBody> getQuizzesByTag(
+            @PathVariable String tag,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        CatalogStreamWriter.Encoding encoding = CatalogStreamWriter.Encoding.forAccept(accept);
+        return CatalogStreamResponses.of(quizService.streamQuizzesByTag(tag, encoding), encoding);
+    }
+
+    @Operation(summary = "Browse quizzes by tags", description = "Returns quizzes carrying all of the given tags that are public or owned by the caller, optionally restricted to one creator, newest first, with tag counts over all matches")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Quizzes retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/browse")
+    public ResponseEntity<FacetedPageResponse<QuizResponse>> browseQuizzes(
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(required = false) String createdBy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(quizService.browseQuizzes(tags, createdBy, Math.max(page, 0), Math.min(Math.max(size, 1), 100)));
     }
 
-    @Operation(summary = "Search quizzes", description = "Searches quizzes by title")
+    @Operation(summary = "Search quizzes", description = "Full-text search over title, description, tags and content, ranked by relevance. The total number of hits is returned in the X-Total-Count header")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Quizzes retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping("/search")
-    public ResponseEntity<List<QuizResponse>> searchQuizzes(@RequestParam String keyword) {
-        return ResponseEntity.ok(quizService.searchQuizzes(keyword));
+    public ResponseEntity<List<QuizResponse>> searchQuizzes(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Page<QuizResponse> results = quizService.searchQuizzes(keyword, Math.max(page, 0), Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(results.getTotalElements()))
+                .body(results.getContent());
     }
 
     @Operation(summary = "Get quiz by ID", description = "Retrieves a quiz by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Quiz retrieved successfully", 
                     content = @Content(schema = @Schema(implementation = QuizResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Quiz not modified since the supplied ETag"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "404", description = "Quiz not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<QuizResponse> getQuizById(@PathVariable String id) {
-        return ResponseEntity.ok(quizService.getQuizById(id));
+    public ResponseEntity<byte[]> getQuizById(@PathVariable String id, WebRequest webRequest) {
+        return SerializedBodyResponses.of(quizService.getSerializedQuizById(id,
+                PayloadFormat.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT))), webRequest);
+    }
+
+    @Operation(summary = "Get quiz analytics", description = "Per-question correct rates, option pick counts and average answer times for a quiz, available to its creator")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Analytics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = QuizAnalyticsResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - not the quiz creator"),
+        @ApiResponse(responseCode = "404", description = "Quiz not found")
+    })
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<QuizAnalyticsResponse> getQuizAnalytics(@PathVariable String id) {
+        return ResponseEntity.ok(quizAnalyticsService.getQuizAnalytics(id));
+    }
+
+    @Operation(summary = "Get quiz leaderboard", description = "Best attempt per user ranked by score, then time spent")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = LeaderboardResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<LeaderboardResponse> getLeaderboard(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(id, Math.max(offset, 0), Math.min(Math.max(limit, 1), 100)));
+    }
+
+    @Operation(summary = "Get my leaderboard rank", description = "Rank and best attempt of the authenticated user on a quiz")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rank retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = LeaderboardEntryResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "No completed attempt on this quiz")
+    })
+    @GetMapping("/{id}/leaderboard/me")
+    public ResponseEntity<LeaderboardEntryResponse> getMyRank(@PathVariable String id) {
+        return ResponseEntity.ok(leaderboardService.getMyRank(id));
     }
 
     @Operation(summary = "Start a quiz", description = "Starts a new quiz attempt")
@@ -115,7 +218,7 @@ public class QuizController {
         return ResponseEntity.ok(quizService.startQuiz(id));
     }
 
-    @Operation(summary = "Submit a quiz attempt", description = "Submits answers for a quiz attempt")
+    @Operation(summary = "Submit a quiz attempt", description = "Submits answers for a quiz attempt. Submitting a completed attempt again returns the stored result; retries sent with the same Idempotency-Key are answered from a short-lived cache")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Quiz attempt submitted successfully", 
                     content = @Content(schema = @Schema(implementation = QuizAttemptResponse.class))),
@@ -126,9 +229,27 @@ public class QuizController {
     @PostMapping("/attempts/{attemptId}/submit")
     public ResponseEntity<QuizAttemptResponse> submitQuiz(
             @PathVariable String attemptId,
-            @Valid @RequestBody SubmitQuizRequest request
+            @Valid @RequestBody SubmitQuizRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        return ResponseEntity.ok(quizService.submitQuiz(attemptId, request, idempotencyKey));
+    }
+
+    @Operation(summary = "Autosave answers", description = "Saves changed answers of an open quiz attempt. Saves are merged in memory and written to the attempt every few seconds")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Answers accepted",
+                    content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "Quiz attempt not found")
+    })
+    @PatchMapping("/attempts/{attemptId}/answers")
+    public ResponseEntity<MessageResponse> saveAnswers(
+            @PathVariable String attemptId,
+            @Valid @RequestBody SaveAnswersRequest request
     ) {
-        return ResponseEntity.ok(quizService.submitQuiz(attemptId, request));
+        quizService.saveAnswers(attemptId, request);
+        return ResponseEntity.accepted().body(new MessageResponse("Answers saved", true));
     }
 
     @Operation(summary = "Get my quiz attempts", description = "Retrieves quiz attempts by the authenticated user")
@@ -0,0 +1,48 @@
+package com.quizmaster.controller;
+
+import com.quizmaster.dto.response.SuggestionResponse;
+import com.quizmaster.dto.response.TagCountResponse;
+import com.quizmaster.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Search and discovery API endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @Operation(summary = "Suggest completions", description = "Returns the most popular public quiz titles, flashcard titles and tags starting with the given prefix")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(searchService.suggest(prefix, Math.max(limit, 1)));
+    }
+
+    @Operation(summary = "Get tag catalog", description = "Returns tags with the number of public quizzes and flashcard sets using each, most used first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tags retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/tags")
+    public ResponseEntity<List<TagCountResponse>> getTagCatalog(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(searchService.getTagCatalog(Math.min(Math.max(limit, 1), 1000)));
+    }
+}
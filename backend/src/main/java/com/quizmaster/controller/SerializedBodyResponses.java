@@ -0,0 +1,39 @@
+package com.quizmaster.controller;
+
+import com.quizmaster.cache.ResponseBodyCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+// Builds responses from pre-serialized bodies, answering conditional requests with 304
+final class SerializedBodyResponses {
+
+    private SerializedBodyResponses() {
+    }
+
+    static ResponseEntity<byte[]> of(ResponseBodyCache.SerializedBody body, WebRequest webRequest) {
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = body.hasGzip() && acceptEncoding != null && acceptEncoding.contains("gzip");
+        String eTag = gzip ? body.getGzipETag() : body.getETag();
+
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(body.getFormat().getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            // Already compressed, the container skips responses that carry a Content-Encoding
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.getGzip());
+        }
+
+        return builder.body(body.getBody());
+    }
+}
@@ -0,0 +1,30 @@
+package com.quizmaster.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FlashcardProgressRequest {
+    
+    @NotNull(message = "Sequence number is required")
+    @Min(value = 1, message = "Sequence number must be positive")
+    private Long seq; // increases with every batch sent by the client; replays are ignored
+    
+    @NotEmpty(message = "Card results are required")
+    @Size(max = 100, message = "At most 100 card results per batch")
+    private Map<String, Boolean> cardResults; // cardId -> remembered (true/false)
+    
+    @Min(value = 0, message = "Time spent cannot be negative")
+    private int timeSpentDelta; // seconds since the previous batch
+}
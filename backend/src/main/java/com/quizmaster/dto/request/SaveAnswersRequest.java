@@ -0,0 +1,23 @@
+package com.quizmaster.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SaveAnswersRequest {
+    
+    // Only the questions that changed; an empty list clears the answer to that question
+    @NotEmpty(message = "Answers are required")
+    @Size(max = 200, message = "At most 200 answers per request")
+    private Map<String, List<String>> answers; // questionId -> list of selected optionIds
+}
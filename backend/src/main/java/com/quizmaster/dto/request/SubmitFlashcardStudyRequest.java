@@ -1,6 +1,5 @@
 package com.quizmaster.dto.request;
 
-import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,7 +13,7 @@ import java.util.Map;
 @NoArgsConstructor
 public class SubmitFlashcardStudyRequest {
     
-    @NotEmpty(message = "Card results are required")
+    // Results not yet synced through the progress endpoint; merged over the stored ones
     private Map<String, Boolean> cardResults; // cardId -> remembered (true/false)
     
     private int timeSpent; // in seconds
@@ -1,6 +1,5 @@
 package com.quizmaster.dto.request;
 
-import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,8 +14,10 @@ import java.util.Map;
 @NoArgsConstructor
 public class SubmitQuizRequest {
     
-    @NotEmpty(message = "Answers are required")
+    // Merged over the answers autosaved during the attempt
     private Map<String, List<String>> answers; // questionId -> list of selected optionIds
     
-    private int timeSpent; // in seconds
+    private int timeSpent; // in seconds, informational only; time spent is measured by the server
+    
+    private Map<String, Integer> questionTimes; // optional, questionId -> seconds spent on it
 }
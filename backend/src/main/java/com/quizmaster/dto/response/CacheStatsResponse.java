@@ -0,0 +1,21 @@
+package com.quizmaster.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsResponse {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long loadCount;
+    private long evictionCount;
+    private double averageLoadPenaltyMillis;
+}
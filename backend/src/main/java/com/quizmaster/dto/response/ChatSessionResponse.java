@@ -17,7 +17,7 @@ public class ChatSessionResponse {
     
     private String id;
     private String title;
-    private List<ChatMessageResponse> messages;
+    private List<ChatSession.ChatMessage> messages;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
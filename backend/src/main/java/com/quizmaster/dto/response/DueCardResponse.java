@@ -0,0 +1,25 @@
+package com.quizmaster.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DueCardResponse {
+    private String flashcardId;
+    private String flashcardTitle;
+    private String cardId;
+    private String front;
+    private String back;
+    private String imageUrl;
+    private LocalDateTime dueAt;
+    private int intervalDays;
+    private double easeFactor;
+    private int lapses;
+}
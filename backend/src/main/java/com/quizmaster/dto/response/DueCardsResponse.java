@@ -0,0 +1,17 @@
+package com.quizmaster.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DueCardsResponse {
+    private List<DueCardResponse> cards;
+    private String nextCursor; // pass back as cursor to get the next page, null on the last page
+}
@@ -0,0 +1,24 @@
+package com.quizmaster.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FlashcardProgressResponse {
+    private String studyId;
+    private long lastSeq;
+    private boolean applied; // false when the batch was a replay of an already applied sequence number
+    private int totalCards;
+    private int cardsStudied;
+    private int cardsRemembered;
+    private int timeSpent; // in seconds
+    private boolean completed;
+    private Map<String, Boolean> cardResults; // only filled when resuming
+}
@@ -1,5 +1,6 @@
 package com.quizmaster.dto.response;
 
+import com.quizmaster.model.Flashcard;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,18 +23,5 @@ public class FlashcardResponse {
    private boolean isPublic;
    private List<String> tags;
    private int cardCount; // Added this field
-   private List<CardDto> cards;
-   
-   // Nested CardDto class
-   @Data
-   @Builder
-   @AllArgsConstructor
-   @NoArgsConstructor
-   public static class CardDto {
-       private String id;
-       private String front;
-       private String back;
-       private String imageUrl;
-       private int position;
-   }
+   private List<Flashcard.Card> cards;
 }
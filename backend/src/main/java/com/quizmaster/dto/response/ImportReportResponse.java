@@ -0,0 +1,31 @@
+package com.quizmaster.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReportResponse {
+    private int received;
+    private int imported;
+    private int failed;
+    private List<String> importedIds;
+    private List<RecordError> errors;
+    private boolean errorsTruncated;
+    
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RecordError {
+        private long line; // first line of the record in the upload
+        private String title;
+        private String message;
+    }
+}
@@ -0,0 +1,20 @@
+package com.quizmaster.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardEntryResponse {
+    private int rank; // 1-based
+    private String username;
+    private int score;
+    private int timeSpent; // in seconds
+    private LocalDateTime achievedAt;
+}
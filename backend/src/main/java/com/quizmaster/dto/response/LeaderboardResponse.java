@@ -0,0 +1,18 @@
+package com.quizmaster.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardResponse {
+    private String quizId;
+    private int participants;
+    private List<LeaderboardEntryResponse> entries;
+}
@@ -0,0 +1,23 @@
+package com.quizmaster.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LiveRoomResponse {
+    private String code;
+    private String quizId;
+    private String quizTitle;
+    private String hostUsername;
+    private String phase; // LOBBY, QUESTION, REVEAL or FINISHED
+    private int participants;
+    private String socketPath; // connect with ?room=<code>&token=<jwt>
+    private LocalDateTime createdAt;
+}
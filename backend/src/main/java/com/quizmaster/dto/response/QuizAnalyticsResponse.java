@@ -0,0 +1,49 @@
+package com.quizmaster.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuizAnalyticsResponse {
+    
+    private String quizId;
+    private String quizTitle;
+    private long attempts;
+    private List<QuestionAnalyticsDto> questions; // in quiz order
+    private LocalDateTime updatedAt;
+    
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class QuestionAnalyticsDto {
+        private String questionId;
+        private int ordinal;
+        private String text;
+        private long correct;
+        private long wrong;
+        private long unanswered;
+        private double correctRate; // correct / attempts, 0 when there are no attempts
+        private Double averageTimeSeconds; // null when no attempt reported times
+        private List<OptionPickDto> options;
+    }
+    
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class OptionPickDto {
+        private String optionId;
+        private String text;
+        private boolean correct;
+        private long picks;
+    }
+}
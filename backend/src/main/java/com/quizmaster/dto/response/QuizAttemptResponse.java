@@ -23,6 +23,8 @@ public class QuizAttemptResponse {
     private int unanswered;
     private int timeSpent; // in seconds
     private boolean completed;
+    private boolean autoSubmitted;
     private LocalDateTime startedAt;
+    private LocalDateTime deadline;
     private LocalDateTime completedAt;
 }
@@ -24,29 +24,6 @@ public class QuizResponse {
    private List<String> tags;
    private int timeLimit;
    private int questionCount; // Added this field
-   private List<QuestionDto> questions;
-   
-   // Nested QuestionDto class
-   @Data
-   @Builder
-   @AllArgsConstructor
-   @NoArgsConstructor
-   public static class QuestionDto {
-       private String id;
-       private String text;
-       private String imageUrl;
-       private Quiz.Question.QuestionType type;
-       private List<OptionDto> options;
-       private String explanation;
-       
-       @Data
-       @Builder
-       @AllArgsConstructor
-       @NoArgsConstructor
-       public static class OptionDto {
-           private String id;
-           private String text;
-           // isCorrect is omitted in response to prevent cheating
-       }
-   }
+   // The documents' own questions; option correctness is hidden by the default Public view
+   private List<Quiz.Question> questions;
 }
@@ -0,0 +1,16 @@
+package com.quizmaster.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestionResponse {
+    private String text;
+    private String type; // QUIZ, FLASHCARD or TAG
+    private String id; // quiz/flashcard id, or the tag itself
+}
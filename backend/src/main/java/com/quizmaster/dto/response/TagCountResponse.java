@@ -0,0 +1,16 @@
+package com.quizmaster.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TagCountResponse {
+    private String tag;
+    private long quizCount; // public quizzes only
+    private long flashcardCount; // public flashcard sets only
+}
@@ -0,0 +1,10 @@
+package com.quizmaster.exception;
+
+// Refresh token that cannot be exchanged: malformed, expired, revoked or replayed, or its account is gone
+// or disabled. An expected outcome of token rotation, rendered as 401 so clients send the user to log in.
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
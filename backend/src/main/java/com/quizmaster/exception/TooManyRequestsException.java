@@ -0,0 +1,17 @@
+package com.quizmaster.exception;
+
+// Request refused before doing the expensive work, either because the caller exceeded an attempt
+// limit or because the server is shedding load. Rendered as 429 with a Retry-After header.
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
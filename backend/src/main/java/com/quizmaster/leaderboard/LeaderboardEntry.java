@@ -0,0 +1,33 @@
+package com.quizmaster.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+// A user's best attempt on one quiz. Also the element type stored in leaderboard snapshots.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+
+    // Higher score first, then faster, then earlier; userId keeps the order total
+    static final Comparator<LeaderboardEntry> RANKING = Comparator
+            .comparingInt(LeaderboardEntry::getScore).reversed()
+            .thenComparingInt(LeaderboardEntry::getTimeSpent)
+            .thenComparing(LeaderboardEntry::getAchievedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(LeaderboardEntry::getUserId);
+
+    private String userId;
+    private int score;
+    private int timeSpent; // in seconds
+    private LocalDateTime achievedAt;
+
+    boolean beats(LeaderboardEntry other) {
+        return RANKING.compare(this, other) < 0;
+    }
+}
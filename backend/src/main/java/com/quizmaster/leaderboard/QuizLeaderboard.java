@@ -0,0 +1,106 @@
+package com.quizmaster.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Best attempt per user for one quiz, ranked. Entries are immutable once inserted;
+// an improvement replaces the user's entry.
+public class QuizLeaderboard {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RankedTreap<LeaderboardEntry> ranking = new RankedTreap<>(LeaderboardEntry.RANKING);
+    private final Map<String, LeaderboardEntry> bestByUser = new HashMap<>();
+    private volatile boolean dirty;
+
+    // Returns true if the entry became the user's best
+    public boolean offer(LeaderboardEntry entry) {
+        lock.writeLock().lock();
+        try {
+            LeaderboardEntry current = bestByUser.get(entry.getUserId());
+            if (current != null && !entry.beats(current)) {
+                return false;
+            }
+            if (current != null) {
+                ranking.remove(current);
+            }
+            ranking.insert(entry);
+            bestByUser.put(entry.getUserId(), entry);
+            dirty = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntry> range(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return ranking.range(offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 1-based rank of the user's best entry, or 0 if the user has no completed attempt
+    public int rankOf(String userId) {
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = bestByUser.get(userId);
+            return entry != null ? ranking.rank(entry) + 1 : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public LeaderboardEntry entryOf(String userId) {
+        lock.readLock().lock();
+        try {
+            return bestByUser.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    // For a snapshot that could not be written
+    public void markDirty() {
+        dirty = true;
+    }
+
+    // Clears the dirty flag and copies the entries; changes made afterwards mark the board dirty again
+    public List<LeaderboardEntry> snapshot() {
+        lock.readLock().lock();
+        try {
+            dirty = false;
+            return new ArrayList<>(bestByUser.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // As snapshot(), limited to the best maxEntries entries in rank order
+    public List<LeaderboardEntry> snapshot(int maxEntries) {
+        lock.readLock().lock();
+        try {
+            dirty = false;
+            return ranking.range(0, maxEntries);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
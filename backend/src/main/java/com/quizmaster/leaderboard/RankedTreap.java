@@ -0,0 +1,173 @@
+package com.quizmaster.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Order-statistic treap: a randomized balanced BST whose nodes carry subtree sizes,
+// giving expected O(log n) insert, remove and rank, and O(log n + k) range reads.
+// Not thread-safe; QuizLeaderboard guards it.
+class RankedTreap<T> {
+
+    private final Comparator<T> order;
+    private Node<T> root;
+
+    RankedTreap(Comparator<T> order) {
+        this.order = order;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(T value) {
+        root = insert(root, new Node<>(value, ThreadLocalRandom.current().nextInt()));
+    }
+
+    void remove(T value) {
+        root = remove(root, value);
+    }
+
+    // Number of elements ordered before the value (its 0-based rank if present)
+    int rank(T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = order.compare(value, node.value);
+            if (cmp <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    // Up to limit elements starting at the given rank, in order
+    List<T> range(int offset, int limit) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(limit, size() - offset)));
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> node = root;
+        int skip = offset;
+
+        // Descend to the element at rank offset, stacking ancestors still to be visited
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (skip < leftSize) {
+                stack.push(node);
+                node = node.left;
+            } else if (skip == leftSize) {
+                stack.push(node);
+                break;
+            } else {
+                skip -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        while (!stack.isEmpty() && result.size() < limit) {
+            Node<T> next = stack.pop();
+            result.add(next.value);
+            for (Node<T> child = next.right; child != null; child = child.left) {
+                stack.push(child);
+            }
+        }
+        return result;
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (order.compare(inserted.value, node.value) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<T> remove(Node<T> node, T value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = order.compare(value, node.value);
+        if (cmp < 0) {
+            node.left = remove(node.left, value);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, value);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    // Joins two treaps where every element of left orders before every element of right
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static int size(Node<?> node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static class Node<T> {
+        private final T value;
+        private final int priority;
+        private int size = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.quizmaster.live;
+
+import com.quizmaster.security.JwtService;
+import com.quizmaster.service.LiveRoomService;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+import java.util.Optional;
+
+// Browsers cannot set headers on a WebSocket upgrade, so the JWT and room code come as query parameters
+@Component
+@RequiredArgsConstructor
+public class LiveHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String USERNAME_ATTRIBUTE = "username";
+    public static final String ROOM_ATTRIBUTE = "room";
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+    private final LiveRoomService liveRoomService;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        Map<String, String> params = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().toSingleValueMap();
+        String token = params.get("token");
+        if (token == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        String username;
+        try {
+            username = jwtService.extractUsername(token);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (!jwtService.isTokenValid(token, userDetails) || !userDetails.isEnabled()) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+        } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        Optional<LiveRoom> room = liveRoomService.findRoom(params.get("room"));
+        if (room.isEmpty() || room.get().getPhase() == LiveRoom.Phase.FINISHED) {
+            response.setStatusCode(HttpStatus.NOT_FOUND);
+            return false;
+        }
+
+        attributes.put(USERNAME_ATTRIBUTE, username);
+        attributes.put(ROOM_ATTRIBUTE, room.get());
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.quizmaster.live;
+
+import com.quizmaster.service.LiveRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class LiveQuizWebSocketHandler extends TextWebSocketHandler {
+
+    private final LiveRoomService liveRoomService;
+    // Raw session id -> decorated session, so sends from any thread are serialized per socket
+    private final Map<String, WebSocketSession> decorated = new ConcurrentHashMap<>();
+
+    @Value("${quizmaster.live.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${quizmaster.live.send-buffer-bytes:65536}")
+    private int sendBufferBytes;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // A client that cannot keep up within the limits is disconnected instead of stalling broadcasts
+        WebSocketSession concurrentSession = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMs, sendBufferBytes);
+        decorated.put(session.getId(), concurrentSession);
+        liveRoomService.join(room(session), concurrentSession, username(session));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        WebSocketSession concurrentSession = decorated.getOrDefault(session.getId(), session);
+        liveRoomService.handleMessage(room(session), concurrentSession, username(session), message.getPayload());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        WebSocketSession concurrentSession = decorated.remove(session.getId());
+        if (concurrentSession != null) {
+            liveRoomService.leave(room(session), concurrentSession);
+        }
+    }
+
+    private static LiveRoom room(WebSocketSession session) {
+        return (LiveRoom) session.getAttributes().get(LiveHandshakeInterceptor.ROOM_ATTRIBUTE);
+    }
+
+    private static String username(WebSocketSession session) {
+        return (String) session.getAttributes().get(LiveHandshakeInterceptor.USERNAME_ATTRIBUTE);
+    }
+}
@@ -0,0 +1,298 @@
+package com.quizmaster.live;
+
+import com.quizmaster.model.Quiz;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// One live session of a quiz. The host moves through the questions; participants answer the current one.
+// Phase and answers change under the room lock, sessions are kept in a concurrent map for broadcasting.
+public class LiveRoom {
+
+    public enum Phase { LOBBY, QUESTION, REVEAL, FINISHED }
+
+    private final String code;
+    private final Quiz quiz;
+    private final String hostUsername;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Participant> participants = new ConcurrentHashMap<>();
+    private final AtomicBoolean tallyChanged = new AtomicBoolean();
+
+    private Phase phase = Phase.LOBBY;
+    private int questionIndex = -1;
+    private long questionStartedAt;
+    private int[] optionCounts = new int[0];
+    private int answeredCount;
+    private volatile LocalDateTime lastActivityAt = createdAt;
+
+    public LiveRoom(String code, Quiz quiz, String hostUsername) {
+        this.code = code;
+        this.quiz = quiz;
+        this.hostUsername = hostUsername;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Quiz getQuiz() {
+        return quiz;
+    }
+
+    public String getHostUsername() {
+        return hostUsername;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public boolean isHost(String username) {
+        return hostUsername.equals(username);
+    }
+
+    public Phase getPhase() {
+        lock.lock();
+        try {
+            return phase;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Collection<WebSocketSession> getSessions() {
+        return sessions.values();
+    }
+
+    public Collection<Participant> getParticipants() {
+        return participants.values();
+    }
+
+    public int getParticipantCount() {
+        return participants.size();
+    }
+
+    public void addSession(WebSocketSession session, String username) {
+        sessions.put(session.getId(), session);
+        if (!isHost(username)) {
+            participants.computeIfAbsent(username, Participant::new);
+        }
+        lastActivityAt = LocalDateTime.now();
+    }
+
+    public void removeSession(WebSocketSession session) {
+        sessions.remove(session.getId());
+    }
+
+    // Advances to the next question; returns false when there is none left
+    public boolean nextQuestion() {
+        lock.lock();
+        try {
+            if (phase == Phase.FINISHED || questionIndex + 1 >= quiz.getQuestions().size()) {
+                return false;
+            }
+            questionIndex++;
+            phase = Phase.QUESTION;
+            questionStartedAt = System.currentTimeMillis();
+            optionCounts = new int[currentQuestion().getOptions().size()];
+            answeredCount = 0;
+            lastActivityAt = LocalDateTime.now();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean reveal() {
+        lock.lock();
+        try {
+            if (phase != Phase.QUESTION) {
+                return false;
+            }
+            phase = Phase.REVEAL;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean finish() {
+        lock.lock();
+        try {
+            if (phase == Phase.FINISHED) {
+                return false;
+            }
+            phase = Phase.FINISHED;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Records a participant's first answer to the current question
+    public boolean answer(String username, String questionId, List<String> optionIds) {
+        Participant participant = participants.get(username);
+        if (participant == null || optionIds == null || optionIds.isEmpty()) {
+            return false;
+        }
+        lock.lock();
+        try {
+            if (phase != Phase.QUESTION) {
+                return false;
+            }
+            Quiz.Question question = currentQuestion();
+            if (!question.getId().equals(questionId) || participant.answers.containsKey(questionId)) {
+                return false;
+            }
+
+            List<String> accepted = new ArrayList<>(optionIds.size());
+            List<Quiz.Question.Option> options = question.getOptions();
+            for (int i = 0; i < options.size(); i++) {
+                if (optionIds.contains(options.get(i).getId())) {
+                    accepted.add(options.get(i).getId());
+                    optionCounts[i]++;
+                }
+            }
+            if (accepted.isEmpty()) {
+                return false;
+            }
+            participant.answers.put(questionId, accepted);
+            participant.answerMillis += System.currentTimeMillis() - questionStartedAt;
+            answeredCount++;
+            tallyChanged.set(true);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // True once per batch of answers, so tallies are pushed at most once per tick
+    public boolean consumeTallyChange() {
+        return tallyChanged.getAndSet(false);
+    }
+
+    public Map<String, Object> questionFrame() {
+        lock.lock();
+        try {
+            Quiz.Question question = currentQuestion();
+            Map<String, Object> frame = frame("question");
+            frame.put("index", questionIndex);
+            frame.put("total", quiz.getQuestions().size());
+            frame.put("questionId", question.getId());
+            frame.put("text", question.getText());
+            frame.put("imageUrl", question.getImageUrl());
+            frame.put("questionType", question.getType());
+            // Correct flags stay on the server: the Public view leaves them out of the frame
+            frame.put("options", question.getOptions());
+            return frame;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> tallyFrame() {
+        lock.lock();
+        try {
+            Map<String, Object> frame = frame("tally");
+            frame.put("index", questionIndex);
+            frame.put("answered", answeredCount);
+            frame.put("participants", participants.size());
+            frame.put("counts", optionCounts.clone());
+            return frame;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> revealFrame() {
+        lock.lock();
+        try {
+            Quiz.Question question = currentQuestion();
+            List<String> correctOptionIds = new ArrayList<>();
+            for (Quiz.Question.Option option : question.getOptions()) {
+                if (option.isCorrect()) {
+                    correctOptionIds.add(option.getId());
+                }
+            }
+            Map<String, Object> frame = frame("reveal");
+            frame.put("index", questionIndex);
+            frame.put("questionId", question.getId());
+            frame.put("correctOptionIds", correctOptionIds);
+            frame.put("explanation", question.getExplanation());
+            frame.put("counts", optionCounts.clone());
+            return frame;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> stateFrame() {
+        lock.lock();
+        try {
+            Map<String, Object> frame = frame("state");
+            frame.put("room", code);
+            frame.put("quizId", quiz.getId());
+            frame.put("quizTitle", quiz.getTitle());
+            frame.put("phase", phase);
+            frame.put("index", questionIndex);
+            frame.put("total", quiz.getQuestions().size());
+            frame.put("participants", participants.size());
+            return frame;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Quiz.Question currentQuestion() {
+        return quiz.getQuestions().get(questionIndex);
+    }
+
+    private static Map<String, Object> frame(String type) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", type);
+        return frame;
+    }
+
+    public static class Participant {
+        private final String username;
+        private final LocalDateTime joinedAt = LocalDateTime.now();
+        // Guarded by the room lock while the room is live; read once the room is finished
+        private final Map<String, List<String>> answers = new HashMap<>();
+        private long answerMillis;
+
+        Participant(String username) {
+            this.username = username;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public LocalDateTime getJoinedAt() {
+            return joinedAt;
+        }
+
+        public Map<String, List<String>> getAnswers() {
+            return answers;
+        }
+
+        public long getAnswerMillis() {
+            return answerMillis;
+        }
+    }
+}
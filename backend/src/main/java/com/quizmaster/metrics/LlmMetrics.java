@@ -0,0 +1,68 @@
+package com.quizmaster.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+// Latency, outcome and token usage of upstream completion calls, tagged by model.
+// The model tag is capped in MetricsConfig because callers may pass arbitrary model names.
+@Component
+@RequiredArgsConstructor
+public class LlmMetrics {
+
+    public static final String PREFIX = "quizmaster.llm";
+    public static final String REQUESTS = PREFIX + ".requests";
+    public static final String TOKENS = PREFIX + ".tokens";
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void success(Timer.Sample sample, String model, JsonNode response) {
+        stop(sample, model, "success");
+        JsonNode usage = response.path("usage");
+        countTokens(model, "prompt", usage.path("prompt_tokens").asLong(0));
+        countTokens(model, "completion", usage.path("completion_tokens").asLong(0));
+    }
+
+    public void failure(Timer.Sample sample, String model, Exception e) {
+        stop(sample, model, outcomeOf(e));
+    }
+
+    private void stop(Timer.Sample sample, String model, String outcome) {
+        sample.stop(Timer.builder(REQUESTS)
+                .description("Upstream LLM completion latency")
+                .tag("model", model)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private void countTokens(String model, String type, long tokens) {
+        if (tokens > 0) {
+            Counter.builder(TOKENS)
+                    .description("Tokens reported by the upstream LLM")
+                    .tag("model", model)
+                    .tag("type", type)
+                    .register(meterRegistry)
+                    .increment(tokens);
+        }
+    }
+
+    private static String outcomeOf(Exception e) {
+        if (e instanceof HttpStatusCodeException) {
+            int status = ((HttpStatusCodeException) e).getStatusCode().value();
+            return status == 429 ? "rate_limited" : "http_" + (status / 100) + "xx";
+        }
+        if (e instanceof ResourceAccessException) {
+            return "io_error";
+        }
+        return "invalid_response";
+    }
+}
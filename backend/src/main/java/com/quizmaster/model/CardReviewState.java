@@ -0,0 +1,45 @@
+package com.quizmaster.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "card_review_states")
+@CompoundIndexes({
+    @CompoundIndex(name = "user_due", def = "{'userId': 1, 'dueAt': 1, '_id': 1}"),
+    @CompoundIndex(name = "user_card", def = "{'userId': 1, 'flashcardId': 1, 'cardId': 1}", unique = true)
+})
+public class CardReviewState {
+    
+    @Id
+    private String id;
+    
+    private String userId;
+    
+    private String flashcardId;
+    
+    private String cardId;
+    
+    private double easeFactor;
+    
+    private int intervalDays;
+    
+    private int repetitions; // consecutive successful reviews
+    
+    private int lapses;
+    
+    private LocalDateTime dueAt;
+    
+    private LocalDateTime lastReviewedAt;
+}
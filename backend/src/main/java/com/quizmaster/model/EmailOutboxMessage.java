@@ -0,0 +1,59 @@
+package com.quizmaster.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// An email waiting in the outbox. Written by EmailService in the request that triggers it and sent
+// later by EmailDispatcher; sent messages expire a few days after delivery.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "email_outbox")
+@CompoundIndex(name = "status_due", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class EmailOutboxMessage {
+
+    public enum Status {
+        PENDING,
+        SENDING,
+        SENT,
+        FAILED
+    }
+
+    @Id
+    private String id;
+
+    private String to;
+
+    private String subject;
+
+    private String template; // Thymeleaf template name, e.g. email/verification-email
+
+    private Map<String, Object> variables;
+
+    private Status status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    private String claimedBy; // dispatcher pass currently sending this message
+
+    private LocalDateTime claimExpiresAt;
+
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    @Indexed(expireAfter = "7d")
+    private LocalDateTime sentAt;
+}
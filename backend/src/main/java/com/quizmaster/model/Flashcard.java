@@ -28,6 +28,7 @@ public class Flashcard {
     
     private String description;
     
+    @Indexed
     private List<String> tags;
     
     private String createdBy;
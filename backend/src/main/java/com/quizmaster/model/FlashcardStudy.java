@@ -10,6 +10,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
@@ -37,6 +38,10 @@ public class FlashcardStudy {
     
     private int timeSpent; // in seconds
     
+    private Map<String, Boolean> cardResults; // cardId -> remembered, synced incrementally while studying
+    
+    private long lastSeq; // highest progress sequence number applied
+    
     private LocalDateTime startedAt;
     
     private LocalDateTime completedAt;
@@ -0,0 +1,39 @@
+package com.quizmaster.model;
+
+import com.quizmaster.leaderboard.LeaderboardEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Persisted copy of one quiz's leaderboard, shared by all nodes. Writers merge the stored entries into
+// their board and write back conditionally on the revision they read, so no node drops another's entries.
+// The document with id WATERMARK_ID holds no entries; its snapshotAt is a point before which every
+// completed attempt is contained in the snapshots.
+// Entries are capped at the top of the board to stay well under the document size limit; a truncated
+// board is restored by replaying that quiz's attempts instead.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "leaderboard_snapshots")
+public class LeaderboardSnapshot {
+    
+    public static final String WATERMARK_ID = "_watermark";
+    
+    @Id
+    private String quizId;
+    
+    private List<LeaderboardEntry> entries;
+    
+    private LocalDateTime snapshotAt;
+    
+    private long revision; // 0 for documents written before revisions were kept
+    
+    private boolean truncated; // entries hold only the top of a larger board
+}
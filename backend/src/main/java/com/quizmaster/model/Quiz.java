@@ -1,5 +1,6 @@
 package com.quizmaster.model;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,6 +29,7 @@ public class Quiz {
     
     private String description;
     
+    @Indexed
     private List<String> tags;
     
     private String createdBy;
@@ -68,6 +70,12 @@ public class Quiz {
             private String id;
             private String text;
             private boolean isCorrect;
+            
+            // Kept out of responses by the default Public view
+            @JsonView(Views.AnswerKey.class)
+            public boolean isCorrect() {
+                return isCorrect;
+            }
         }
     }
 }
@@ -7,15 +7,24 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "quiz_attempts")
+@CompoundIndexes({
+    @CompoundIndex(name = "open_deadline", def = "{'completed': 1, 'deadline': 1}"),
+    // Leaderboard replay and cross-node sync read completed attempts by last update
+    @CompoundIndex(name = "completed_updated", def = "{'completed': 1, 'updatedAt': 1}")
+})
 public class QuizAttempt {
     
     @Id
@@ -35,12 +44,20 @@ public class QuizAttempt {
     
     private int unanswered;
     
+    private byte[] questionOutcomes; // 2 bits per question ordinal, see QuizGrader
+    
     private int timeSpent; // in seconds
     
     private boolean completed;
     
+    private boolean autoSubmitted; // finalized by the server when the time limit ran out
+    
+    private Map<String, List<String>> answers; // questionId -> selected optionIds, latest saved state
+    
     private LocalDateTime startedAt;
     
+    private LocalDateTime deadline; // startedAt + time limit, null when the quiz is untimed
+    
     private LocalDateTime completedAt;
     
     @CreatedDate
@@ -0,0 +1,42 @@
+package com.quizmaster.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Running per-question totals for one quiz, maintained with $inc on every submitted attempt
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "quiz_question_stats")
+public class QuizQuestionStats {
+    
+    @Id
+    private String quizId;
+    
+    private long attempts;
+    
+    private Map<String, QuestionStats> questions; // questionId -> totals
+    
+    private LocalDateTime updatedAt;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuestionStats {
+        private long correct;
+        private long wrong;
+        private long unanswered;
+        private long timedAnswers; // answers that reported a time
+        private long totalTimeSeconds;
+        private Map<String, Long> optionPicks; // optionId -> times selected
+    }
+}
@@ -0,0 +1,39 @@
+package com.quizmaster.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// A refresh token id (jti) that was used up by rotation, or a whole rotation family revoked on
+// logout or detected reuse. Entries expire once no token they cover can still be valid.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "revoked_refresh_tokens")
+public class RevokedRefreshToken {
+
+    public enum Kind {
+        TOKEN,
+        FAMILY
+    }
+
+    @Id
+    private String id; // jti for TOKEN, family id for FAMILY
+
+    private Kind kind;
+
+    private String username;
+
+    @Indexed
+    private LocalDateTime revokedAt;
+
+    @Indexed(expireAfter = "0s")
+    private LocalDateTime expiresAt;
+}
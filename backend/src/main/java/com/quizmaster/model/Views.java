@@ -0,0 +1,17 @@
+package com.quizmaster.model;
+
+// Jackson views over the documents that responses expose directly.
+// Public is the default serialization view of the application's mappers, so properties marked
+// AnswerKey are left out unless a writer asks for that view explicitly.
+public final class Views {
+
+    private Views() {
+    }
+
+    public interface Public {
+    }
+
+    // Data that would give away the answers, e.g. which quiz options are correct
+    public interface AnswerKey extends Public {
+    }
+}
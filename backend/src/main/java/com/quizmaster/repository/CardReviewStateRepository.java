@@ -0,0 +1,14 @@
+package com.quizmaster.repository;
+
+import com.quizmaster.model.CardReviewState;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CardReviewStateRepository extends MongoRepository<CardReviewState, String> {
+    List<CardReviewState> findByUserIdAndFlashcardIdAndCardIdIn(String userId, String flashcardId, Collection<String> cardIds);
+    void deleteByFlashcardId(String flashcardId);
+}
@@ -1,11 +1,13 @@
 package com.quizmaster.repository;
 
 import com.quizmaster.model.Flashcard;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface FlashcardRepository extends MongoRepository<Flashcard, String> {
@@ -16,4 +18,10 @@ public interface FlashcardRepository extends MongoRepository<Flashcard, String>
     List<Flashcard> findByTagsContaining(String tag);
     List<Flashcard> findTop10ByOrderByCreatedAtDesc();
     long countByCreatedAtAfter(LocalDateTime date);
+
+    // Cursor-backed, for responses streamed as the documents arrive; callers must close the stream
+    @Meta(cursorBatchSize = 100)
+    Stream<Flashcard> streamByIsPublicTrue();
+    @Meta(cursorBatchSize = 100)
+    Stream<Flashcard> streamByTagsContaining(String tag);
 }
@@ -1,11 +1,13 @@
 package com.quizmaster.repository;
 
 import com.quizmaster.model.Quiz;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuizRepository extends MongoRepository<Quiz, String> {
@@ -16,4 +18,10 @@ public interface QuizRepository extends MongoRepository<Quiz, String> {
     List<Quiz> findByTagsContaining(String tag);
     List<Quiz> findTop10ByOrderByCreatedAtDesc();
     long countByCreatedAtAfter(LocalDateTime date);
+
+    // Cursor-backed, for responses streamed as the documents arrive; callers must close the stream
+    @Meta(cursorBatchSize = 100)
+    Stream<Quiz> streamByIsPublicTrue();
+    @Meta(cursorBatchSize = 100)
+    Stream<Quiz> streamByTagsContaining(String tag);
 }
@@ -0,0 +1,325 @@
+package com.quizmaster.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Prefix trie where every node keeps the k heaviest entries of its subtree,
+// so a completion lookup is a walk down the prefix and a copy of at most k entries.
+public class CompletionTrie {
+
+    // Keys are truncated to this depth; longer prefixes are filtered from the deepest node
+    private static final int MAX_DEPTH = 24;
+
+    private static final Comparator<Entry> BY_WEIGHT = Comparator
+            .comparingLong(Entry::getWeight).reversed()
+            .thenComparing(Entry::getText);
+
+    private final int k;
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public CompletionTrie(int k) {
+        this.k = k;
+    }
+
+    // Adds or replaces an entry reachable from each of the given (already folded) keys
+    public void put(String id, String text, String type, String refId, long weight, List<String> keys) {
+        Entry entry = new Entry(id, text, type, refId, weight, truncate(keys));
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            entries.put(id, entry);
+            for (String key : entry.keys) {
+                Node node = root;
+                offer(node, entry);
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.childOrCreate(key.charAt(i));
+                    offer(node, entry);
+                }
+                node.addTerminal(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Weight increases only ever promote an entry, so the affected paths are updated in place
+    public void increment(String id, long delta) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                return;
+            }
+            entry.weight += delta;
+            for (String key : entry.keys) {
+                Node node = root;
+                offer(node, entry);
+                for (int i = 0; i < key.length() && node != null; i++) {
+                    node = node.child(key.charAt(i));
+                    if (node != null) {
+                        offer(node, entry);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long weight(String id) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(id);
+            return entry != null ? entry.weight : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Entry> complete(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int depth = Math.min(prefix.length(), MAX_DEPTH);
+            for (int i = 0; i < depth && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+
+            List<Entry> result = new ArrayList<>(Math.min(limit, node.top.length));
+            for (Entry entry : node.top) {
+                if (result.size() == limit) {
+                    break;
+                }
+                if (prefix.length() <= MAX_DEPTH || entry.matches(prefix)) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String key : entry.keys) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].child(key.charAt(i));
+            }
+            path[key.length()].removeTerminal(entry);
+
+            // Recompute bottom-up, pruning nodes that no longer lead anywhere
+            for (int depth = key.length(); depth >= 0; depth--) {
+                Node node = path[depth];
+                recompute(node);
+                if (depth > 0 && node.isEmpty()) {
+                    path[depth - 1].removeChild(key.charAt(depth - 1));
+                }
+            }
+        }
+    }
+
+    private void offer(Node node, Entry entry) {
+        Entry[] top = node.top;
+        int existing = -1;
+        for (int i = 0; i < top.length; i++) {
+            if (top[i] == entry) {
+                existing = i;
+                break;
+            }
+        }
+
+        Entry[] updated;
+        if (existing >= 0) {
+            updated = top.clone();
+        } else if (top.length < k) {
+            updated = Arrays.copyOf(top, top.length + 1);
+            updated[top.length] = entry;
+        } else if (BY_WEIGHT.compare(entry, top[top.length - 1]) < 0) {
+            updated = top.clone();
+            updated[top.length - 1] = entry;
+        } else {
+            return;
+        }
+        Arrays.sort(updated, BY_WEIGHT);
+        // Arrays are replaced, never mutated, so readers always see a consistent list
+        node.top = updated;
+    }
+
+    private void recompute(Node node) {
+        List<Entry> candidates = new ArrayList<>();
+        if (node.terminals != null) {
+            candidates.addAll(node.terminals);
+        }
+        for (Node child : node.children) {
+            for (Entry entry : child.top) {
+                if (!candidates.contains(entry)) {
+                    candidates.add(entry);
+                }
+            }
+        }
+        candidates.sort(BY_WEIGHT);
+        node.top = candidates.subList(0, Math.min(k, candidates.size())).toArray(new Entry[0]);
+    }
+
+    private static List<String> truncate(List<String> keys) {
+        List<String> truncated = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            String value = key.length() > MAX_DEPTH ? key.substring(0, MAX_DEPTH) : key;
+            if (!value.isEmpty() && !truncated.contains(value)) {
+                truncated.add(value);
+            }
+        }
+        return truncated;
+    }
+
+    private static class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        // Children sorted by label for binary search
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private Entry[] top = NO_ENTRIES;
+        private List<Entry> terminals;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        void addTerminal(Entry entry) {
+            if (terminals == null) {
+                terminals = new ArrayList<>(1);
+            }
+            if (!terminals.contains(entry)) {
+                terminals.add(entry);
+            }
+        }
+
+        void removeTerminal(Entry entry) {
+            if (terminals != null) {
+                terminals.remove(entry);
+                if (terminals.isEmpty()) {
+                    terminals = null;
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return terminals == null && children.length == 0;
+        }
+    }
+
+    // One completion: display text plus the document or tag it points to
+    public static class Entry {
+        private final String id;
+        private final String text;
+        private final String type;
+        private final String refId;
+        private final List<String> keys;
+        private long weight;
+
+        Entry(String id, String text, String type, String refId, long weight, List<String> keys) {
+            this.id = id;
+            this.text = text;
+            this.type = type;
+            this.refId = refId;
+            this.weight = weight;
+            this.keys = keys;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getRefId() {
+            return refId;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        boolean matches(String prefix) {
+            return TextAnalyzer.fold(text).contains(prefix);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.quizmaster.search;
+
+import com.quizmaster.model.Flashcard;
+import com.quizmaster.model.Quiz;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Full-text indexes over the quizzes and flashcards collections.
+// Built from Mongo once the application is ready and kept current by the services on create/delete.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentSearchIndex {
+
+    private static final float TITLE_BOOST = 3.0f;
+    private static final float TAG_BOOST = 2.0f;
+    private static final float DESCRIPTION_BOOST = 1.0f;
+    private static final float BODY_BOOST = 0.5f;
+
+    private final MongoTemplate mongoTemplate;
+    private final InvertedIndex quizIndex = new InvertedIndex();
+    private final InvertedIndex flashcardIndex = new InvertedIndex();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+
+        Query quizQuery = new Query();
+        quizQuery.fields().include("title", "description", "tags", "questions.text");
+        try (Stream<Quiz> quizzes = mongoTemplate.stream(quizQuery, Quiz.class)) {
+            quizzes.forEach(this::indexQuiz);
+        }
+
+        Query flashcardQuery = new Query();
+        flashcardQuery.fields().include("title", "description", "tags", "cards.front", "cards.back");
+        try (Stream<Flashcard> flashcards = mongoTemplate.stream(flashcardQuery, Flashcard.class)) {
+            flashcards.forEach(this::indexFlashcard);
+        }
+
+        ready = true;
+        log.info("Search index built with {} quizzes and {} flashcards in {} ms",
+                quizIndex.size(), flashcardIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void indexQuiz(Quiz quiz) {
+        List<InvertedIndex.Field> fields = commonFields(quiz.getTitle(), quiz.getDescription(), quiz.getTags());
+        if (quiz.getQuestions() != null) {
+            for (Quiz.Question question : quiz.getQuestions()) {
+                fields.add(new InvertedIndex.Field(question.getText(), BODY_BOOST));
+            }
+        }
+        quizIndex.index(quiz.getId(), fields);
+    }
+
+    public void removeQuiz(String quizId) {
+        quizIndex.remove(quizId);
+    }
+
+    public void indexFlashcard(Flashcard flashcard) {
+        List<InvertedIndex.Field> fields = commonFields(flashcard.getTitle(), flashcard.getDescription(), flashcard.getTags());
+        if (flashcard.getCards() != null) {
+            for (Flashcard.Card card : flashcard.getCards()) {
+                fields.add(new InvertedIndex.Field(card.getFront(), BODY_BOOST));
+                fields.add(new InvertedIndex.Field(card.getBack(), BODY_BOOST));
+            }
+        }
+        flashcardIndex.index(flashcard.getId(), fields);
+    }
+
+    public void removeFlashcard(String flashcardId) {
+        flashcardIndex.remove(flashcardId);
+    }
+
+    public SearchHits searchQuizzes(String keyword, int offset, int limit) {
+        return quizIndex.search(keyword, offset, limit);
+    }
+
+    public SearchHits searchFlashcards(String keyword, int offset, int limit) {
+        return flashcardIndex.search(keyword, offset, limit);
+    }
+
+    private static List<InvertedIndex.Field> commonFields(String title, String description, List<String> tags) {
+        List<InvertedIndex.Field> fields = new ArrayList<>();
+        fields.add(new InvertedIndex.Field(title, TITLE_BOOST));
+        fields.add(new InvertedIndex.Field(description, DESCRIPTION_BOOST));
+        if (tags != null) {
+            for (String tag : tags) {
+                fields.add(new InvertedIndex.Field(tag, TAG_BOOST));
+            }
+        }
+        return fields;
+    }
+}
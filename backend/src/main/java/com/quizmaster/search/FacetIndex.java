@@ -0,0 +1,256 @@
+package com.quizmaster.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Tag posting lists plus the per-document attributes needed to filter and facet without touching Mongo
+public class FacetIndex {
+
+    private static final Comparator<DocMeta> NEWEST_FIRST = Comparator
+            .comparing(DocMeta::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(DocMeta::getId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final Map<String, DocMeta> docs = new HashMap<>();
+    private final Map<String, Long> publicCounts = new HashMap<>();
+    private final Map<String, String> displayNames = new HashMap<>();
+
+    public void put(String id, boolean isPublic, String createdBy, LocalDateTime createdAt, List<String> tags) {
+        List<String> keys = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                String key = normalize(tag);
+                if (!key.isEmpty() && !keys.contains(key)) {
+                    keys.add(key);
+                    names.add(tag.trim());
+                }
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            DocMeta meta = new DocMeta(id, isPublic, createdBy, createdAt, keys);
+            docs.put(id, meta);
+            for (int i = 0; i < keys.size(); i++) {
+                String key = keys.get(i);
+                postings.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+                displayNames.putIfAbsent(key, names.get(i));
+                if (isPublic) {
+                    publicCounts.merge(key, 1L, Long::sum);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Public document count per tag, keyed by display name
+    public Map<String, Long> publicTagCounts() {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> counts = new HashMap<>();
+            publicCounts.forEach((key, count) -> counts.put(displayNames.getOrDefault(key, key), count));
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documents carrying every tag, visible to the viewer (public or their own), newest first
+    public FacetResult browse(List<String> tags, String createdBy, String viewer, int offset, int limit, int maxFacets) {
+        List<String> keys = normalizeAll(tags);
+
+        lock.readLock().lock();
+        try {
+            Iterable<String> candidates;
+            List<Set<String>> required = new ArrayList<>();
+            if (keys.isEmpty()) {
+                candidates = docs.keySet();
+            } else {
+                for (String key : keys) {
+                    Set<String> posting = postings.get(key);
+                    if (posting == null) {
+                        return new FacetResult(0, Collections.emptyList(), Collections.emptyMap());
+                    }
+                    required.add(posting);
+                }
+                // Drive the intersection from the shortest posting list
+                required.sort(Comparator.comparingInt(Set::size));
+                candidates = required.remove(0);
+            }
+
+            // Facet counts need every match, but only the newest offset + limit have to be ordered:
+            // a bounded heap with the oldest kept match on top instead of sorting all of them
+            long wanted = (long) offset + limit;
+            PriorityQueue<DocMeta> newest = new PriorityQueue<>(NEWEST_FIRST.reversed());
+            long total = 0;
+            Map<String, Long> facetCounts = new HashMap<>();
+            for (String id : candidates) {
+                boolean inAll = true;
+                for (Set<String> posting : required) {
+                    if (!posting.contains(id)) {
+                        inAll = false;
+                        break;
+                    }
+                }
+                if (!inAll) {
+                    continue;
+                }
+                DocMeta meta = docs.get(id);
+                if (meta == null
+                        || !(meta.isPublic() || (viewer != null && viewer.equals(meta.getCreatedBy())))
+                        || (createdBy != null && !createdBy.equals(meta.getCreatedBy()))) {
+                    continue;
+                }
+                total++;
+                if (newest.size() < wanted) {
+                    newest.add(meta);
+                } else if (!newest.isEmpty() && NEWEST_FIRST.compare(meta, newest.peek()) < 0) {
+                    newest.poll();
+                    newest.add(meta);
+                }
+                for (String key : meta.getTags()) {
+                    facetCounts.merge(key, 1L, Long::sum);
+                }
+            }
+
+            List<DocMeta> ranked = new ArrayList<>(newest);
+            ranked.sort(NEWEST_FIRST);
+            List<String> page = new ArrayList<>();
+            for (int i = offset; i < ranked.size() && page.size() < limit; i++) {
+                page.add(ranked.get(i).getId());
+            }
+
+            Map<String, Long> facets = new LinkedHashMap<>();
+            facetCounts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(maxFacets)
+                    .forEach(entry -> facets.put(displayNames.getOrDefault(entry.getKey(), entry.getKey()), entry.getValue()));
+
+            return new FacetResult(total, page, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(String id) {
+        DocMeta meta = docs.remove(id);
+        if (meta == null) {
+            return;
+        }
+        for (String key : meta.getTags()) {
+            Set<String> posting = postings.get(key);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(key);
+                    displayNames.remove(key);
+                }
+            }
+            if (meta.isPublic()) {
+                publicCounts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+    }
+
+    // Distinct non-empty normalized keys, in the order given
+    static List<String> normalizeAll(List<String> tags) {
+        List<String> keys = new ArrayList<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                String key = normalize(tag);
+                if (!key.isEmpty() && !keys.contains(key)) {
+                    keys.add(key);
+                }
+            }
+        }
+        return keys;
+    }
+
+    static String normalize(String tag) {
+        return tag == null ? "" : TextAnalyzer.fold(tag).trim();
+    }
+
+    private static class DocMeta {
+        private final String id;
+        private final boolean isPublic;
+        private final String createdBy;
+        private final LocalDateTime createdAt;
+        private final List<String> tags;
+
+        DocMeta(String id, boolean isPublic, String createdBy, LocalDateTime createdAt, List<String> tags) {
+            this.id = id;
+            this.isPublic = isPublic;
+            this.createdBy = createdBy;
+            this.createdAt = createdAt;
+            this.tags = tags;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        boolean isPublic() {
+            return isPublic;
+        }
+
+        String getCreatedBy() {
+            return createdBy;
+        }
+
+        LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        List<String> getTags() {
+            return tags;
+        }
+    }
+
+    // One page of ranked ids, the total match count and tag counts over all matches
+    public static class FacetResult {
+        private final long total;
+        private final List<String> ids;
+        private final Map<String, Long> facets;
+
+        FacetResult(long total, List<String> ids, Map<String, Long> facets) {
+            this.total = total;
+            this.ids = ids;
+            this.facets = facets;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public List<String> getIds() {
+            return ids;
+        }
+
+        public Map<String, Long> getFacets() {
+            return facets;
+        }
+    }
+}
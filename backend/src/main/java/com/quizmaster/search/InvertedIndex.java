@@ -0,0 +1,270 @@
+package com.quizmaster.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index ranked with BM25 over boosted fields.
+// Documents are addressed by dense ordinals; removals are tombstoned and reclaimed by compaction.
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final double COMPACTION_RATIO = 0.25;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Postings> postings = new HashMap<>();
+    private Map<String, Integer> ordinals = new HashMap<>();
+    private List<String> ids = new ArrayList<>();
+    // Postings lists each document appears in, by ordinal, so a removal can update their live counts
+    private List<Postings[]> docPostings = new ArrayList<>();
+    private float[] docLengths = new float[1024];
+    private BitSet deleted = new BitSet();
+    private int liveDocs;
+    private double totalLength;
+
+    public void index(String id, List<Field> fields) {
+        Map<String, Float> termFreqs = new HashMap<>();
+        float length = 0;
+        for (Field field : fields) {
+            for (String term : TextAnalyzer.analyze(field.getText())) {
+                termFreqs.merge(term, field.getBoost(), Float::sum);
+                length += field.getBoost();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+
+            int ordinal = ids.size();
+            ids.add(id);
+            ordinals.put(id, ordinal);
+            if (ordinal == docLengths.length) {
+                docLengths = Arrays.copyOf(docLengths, docLengths.length * 2);
+            }
+            docLengths[ordinal] = length;
+            totalLength += length;
+            liveDocs++;
+
+            Postings[] appearsIn = new Postings[termFreqs.size()];
+            int i = 0;
+            for (Map.Entry<String, Float> entry : termFreqs.entrySet()) {
+                Postings termPostings = postings.computeIfAbsent(entry.getKey(), term -> new Postings());
+                termPostings.add(ordinal, entry.getValue());
+                appearsIn[i++] = termPostings;
+            }
+            docPostings.add(appearsIn);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (ids.size() > 1024 && deleted.cardinality() > ids.size() * COMPACTION_RATIO) {
+                compactLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.analyze(query)));
+        if (terms.isEmpty() || limit <= 0 || offset < 0) {
+            return new SearchHits(0, Collections.emptyList());
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return new SearchHits(0, Collections.emptyList());
+            }
+
+            float averageLength = (float) (totalLength / liveDocs);
+            Map<Integer, Float> scores = new HashMap<>();
+            for (String term : terms) {
+                Postings termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                // Only live documents count towards df, so idf stays positive between compactions
+                int df = termPostings.live;
+                if (df == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+                for (int i = 0; i < termPostings.size; i++) {
+                    int ordinal = termPostings.docs[i];
+                    if (deleted.get(ordinal)) {
+                        continue;
+                    }
+                    float tf = termPostings.freqs[i];
+                    float norm = K1 * (1 - B + B * docLengths[ordinal] / averageLength);
+                    float score = (float) (idf * tf * (K1 + 1) / (tf + norm));
+                    scores.merge(ordinal, score, Float::sum);
+                }
+            }
+
+            if (offset >= scores.size()) {
+                // Past the last hit, nothing to rank
+                return new SearchHits(scores.size(), Collections.emptyList());
+            }
+
+            // In long so a deep offset plus the page size cannot wrap around
+            int wanted = (int) Math.min((long) offset + limit, scores.size());
+            PriorityQueue<Map.Entry<Integer, Float>> top = new PriorityQueue<>(
+                    Math.max(1, wanted),
+                    (a, b) -> {
+                        int byScore = Float.compare(a.getValue(), b.getValue());
+                        // Lower ordinal (older document) wins ties
+                        return byScore != 0 ? byScore : Integer.compare(b.getKey(), a.getKey());
+                    });
+            for (Map.Entry<Integer, Float> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > wanted) {
+                    top.poll();
+                }
+            }
+
+            List<String> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ranked.add(ids.get(top.poll().getKey()));
+            }
+            Collections.reverse(ranked);
+
+            List<String> page = new ArrayList<>(ranked.subList(offset, ranked.size()));
+            return new SearchHits(scores.size(), page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(String id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        deleted.set(ordinal);
+        totalLength -= docLengths[ordinal];
+        liveDocs--;
+        for (Postings termPostings : docPostings.get(ordinal)) {
+            termPostings.live--;
+        }
+        docPostings.set(ordinal, null);
+    }
+
+    // Rewrites postings without tombstoned ordinals
+    private void compactLocked() {
+        int[] remap = new int[ids.size()];
+        List<String> liveIds = new ArrayList<>(liveDocs);
+        float[] liveLengths = new float[Math.max(1024, liveDocs * 2)];
+        for (int ordinal = 0; ordinal < ids.size(); ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+                continue;
+            }
+            remap[ordinal] = liveIds.size();
+            liveLengths[liveIds.size()] = docLengths[ordinal];
+            liveIds.add(ids.get(ordinal));
+        }
+
+        Map<String, Postings> livePostings = new HashMap<>();
+        for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+            Postings source = entry.getValue();
+            Postings target = new Postings();
+            for (int i = 0; i < source.size; i++) {
+                int mapped = remap[source.docs[i]];
+                if (mapped >= 0) {
+                    target.add(mapped, source.freqs[i]);
+                }
+            }
+            if (target.size > 0) {
+                livePostings.put(entry.getKey(), target);
+            }
+        }
+
+        Map<String, Integer> liveOrdinals = new HashMap<>();
+        for (int ordinal = 0; ordinal < liveIds.size(); ordinal++) {
+            liveOrdinals.put(liveIds.get(ordinal), ordinal);
+        }
+
+        List<List<Postings>> appearsIn = new ArrayList<>(liveIds.size());
+        for (int ordinal = 0; ordinal < liveIds.size(); ordinal++) {
+            appearsIn.add(new ArrayList<>());
+        }
+        for (Postings termPostings : livePostings.values()) {
+            for (int i = 0; i < termPostings.size; i++) {
+                appearsIn.get(termPostings.docs[i]).add(termPostings);
+            }
+        }
+        List<Postings[]> liveDocPostings = new ArrayList<>(liveIds.size());
+        for (List<Postings> list : appearsIn) {
+            liveDocPostings.add(list.toArray(new Postings[0]));
+        }
+
+        ids = liveIds;
+        docLengths = liveLengths;
+        ordinals = liveOrdinals;
+        postings = livePostings;
+        docPostings = liveDocPostings;
+        deleted = new BitSet();
+    }
+
+    private static class Postings {
+        private int[] docs = new int[4];
+        private float[] freqs = new float[4];
+        private int size;
+        private int live; // postings of documents not removed since
+
+        void add(int ordinal, float freq) {
+            if (size == docs.length) {
+                int capacity = docs.length + (docs.length >> 1) + 1;
+                docs = Arrays.copyOf(docs, capacity);
+                freqs = Arrays.copyOf(freqs, capacity);
+            }
+            docs[size] = ordinal;
+            freqs[size] = freq;
+            size++;
+            live++;
+        }
+    }
+
+    // Text of one document field and its weight in term frequency and length
+    public static class Field {
+        private final String text;
+        private final float boost;
+
+        public Field(String text, float boost) {
+            this.text = text;
+            this.boost = boost;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public float getBoost() {
+            return boost;
+        }
+    }
+}
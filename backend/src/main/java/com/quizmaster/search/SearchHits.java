@@ -0,0 +1,13 @@
+package com.quizmaster.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SearchHits {
+    private final long totalHits;
+    private final List<String> ids; // ranked ids of the requested page
+}
@@ -0,0 +1,193 @@
+package com.quizmaster.search;
+
+import com.quizmaster.model.Flashcard;
+import com.quizmaster.model.Quiz;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Search-as-you-type completions over public quiz/flashcard titles and tags.
+// Titles are weighted by attempt/study counts, tags by the number of public documents using them.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SuggestionIndex {
+
+    public static final String TYPE_QUIZ = "QUIZ";
+    public static final String TYPE_FLASHCARD = "FLASHCARD";
+    public static final String TYPE_TAG = "TAG";
+
+    private static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_TITLE_KEYS = 4;
+
+    private final MongoTemplate mongoTemplate;
+    private final CompletionTrie trie = new CompletionTrie(MAX_SUGGESTIONS);
+    private final Map<String, Long> tagCounts = new HashMap<>();
+    // Tag counts and their trie weights change together
+    private final ReentrantLock tagLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        Map<String, Long> attempts = countBy("quiz_attempts", "quizId");
+        Map<String, Long> studies = countBy("flashcard_studies", "flashcardId");
+
+        Query quizQuery = new Query(Criteria.where("isPublic").is(true));
+        quizQuery.fields().include("title", "tags", "isPublic");
+        try (Stream<Quiz> quizzes = mongoTemplate.stream(quizQuery, Quiz.class)) {
+            quizzes.forEach(quiz -> addQuiz(quiz, attempts.getOrDefault(quiz.getId(), 0L)));
+        }
+
+        Query flashcardQuery = new Query(Criteria.where("isPublic").is(true));
+        flashcardQuery.fields().include("title", "tags", "isPublic");
+        try (Stream<Flashcard> flashcards = mongoTemplate.stream(flashcardQuery, Flashcard.class)) {
+            flashcards.forEach(flashcard -> addFlashcard(flashcard, studies.getOrDefault(flashcard.getId(), 0L)));
+        }
+
+        log.info("Suggestion index built with {} entries in {} ms", trie.size(), System.currentTimeMillis() - start);
+    }
+
+    public List<CompletionTrie.Entry> suggest(String prefix, int limit) {
+        String folded = TextAnalyzer.fold(prefix).trim().replaceAll("\\s+", " ");
+        if (folded.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return trie.complete(folded, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    public void addQuiz(Quiz quiz) {
+        addQuiz(quiz, 0);
+    }
+
+    public void removeQuiz(Quiz quiz) {
+        if (quiz.isPublic()) {
+            trie.remove(TYPE_QUIZ + ":" + quiz.getId());
+            removeTags(quiz.getTags());
+        }
+    }
+
+    public void recordQuizAttempt(String quizId) {
+        trie.increment(TYPE_QUIZ + ":" + quizId, 1);
+    }
+
+    public void addFlashcard(Flashcard flashcard) {
+        addFlashcard(flashcard, 0);
+    }
+
+    public void removeFlashcard(Flashcard flashcard) {
+        if (flashcard.isPublic()) {
+            trie.remove(TYPE_FLASHCARD + ":" + flashcard.getId());
+            removeTags(flashcard.getTags());
+        }
+    }
+
+    public void recordFlashcardStudy(String flashcardId) {
+        trie.increment(TYPE_FLASHCARD + ":" + flashcardId, 1);
+    }
+
+    private void addQuiz(Quiz quiz, long attempts) {
+        if (!quiz.isPublic()) {
+            return;
+        }
+        trie.put(TYPE_QUIZ + ":" + quiz.getId(), quiz.getTitle(), TYPE_QUIZ, quiz.getId(), attempts, titleKeys(quiz.getTitle()));
+        addTags(quiz.getTags());
+    }
+
+    private void addFlashcard(Flashcard flashcard, long studies) {
+        if (!flashcard.isPublic()) {
+            return;
+        }
+        trie.put(TYPE_FLASHCARD + ":" + flashcard.getId(), flashcard.getTitle(), TYPE_FLASHCARD, flashcard.getId(), studies, titleKeys(flashcard.getTitle()));
+        addTags(flashcard.getTags());
+    }
+
+    private void addTags(List<String> tags) {
+        if (tags == null) {
+            return;
+        }
+        tagLock.lock();
+        try {
+            for (String tag : tags) {
+                String key = TextAnalyzer.fold(tag).trim();
+                if (key.isEmpty()) {
+                    continue;
+                }
+                long count = tagCounts.merge(key, 1L, Long::sum);
+                if (count == 1) {
+                    trie.put(TYPE_TAG + ":" + key, tag, TYPE_TAG, tag, count, List.of(key));
+                } else {
+                    trie.increment(TYPE_TAG + ":" + key, 1);
+                }
+            }
+        } finally {
+            tagLock.unlock();
+        }
+    }
+
+    private void removeTags(List<String> tags) {
+        if (tags == null) {
+            return;
+        }
+        tagLock.lock();
+        try {
+            for (String tag : tags) {
+                String key = TextAnalyzer.fold(tag).trim();
+                Long count = tagCounts.computeIfPresent(key, (k, current) -> current > 1 ? current - 1 : null);
+                if (count == null) {
+                    trie.remove(TYPE_TAG + ":" + key);
+                } else {
+                    // Weight decreases need the subtree recomputed, which a re-put does
+                    trie.put(TYPE_TAG + ":" + key, tag, TYPE_TAG, tag, count, List.of(key));
+                }
+            }
+        } finally {
+            tagLock.unlock();
+        }
+    }
+
+    // The whole title plus the title from each following word, so "Intro to Java" completes on "ja"
+    private static List<String> titleKeys(String title) {
+        List<String> keys = new ArrayList<>();
+        if (title == null) {
+            return keys;
+        }
+        String folded = TextAnalyzer.fold(title).trim().replaceAll("\\s+", " ");
+        keys.add(folded);
+        int from = 0;
+        while (keys.size() < MAX_TITLE_KEYS) {
+            int space = folded.indexOf(' ', from);
+            if (space < 0) {
+                break;
+            }
+            keys.add(folded.substring(space + 1));
+            from = space + 1;
+        }
+        return keys;
+    }
+
+    private Map<String, Long> countBy(String collection, String field) {
+        Map<String, Long> counts = new HashMap<>();
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group(field).count().as("count"));
+        for (Document result : mongoTemplate.aggregate(aggregation, collection, Document.class)) {
+            Object id = result.get("_id");
+            if (id != null) {
+                counts.put(id.toString(), ((Number) result.get("count")).longValue());
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,139 @@
+package com.quizmaster.search;
+
+import com.quizmaster.model.Flashcard;
+import com.quizmaster.model.Quiz;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Tag catalog and faceted browse over quizzes and flashcards.
+// Posting lists are built from Mongo once the application is ready and kept current by the services on create/delete.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagCatalog {
+
+    private static final int MAX_FACETS = 20;
+
+    private final MongoTemplate mongoTemplate;
+    private final FacetIndex quizFacets = new FacetIndex();
+    private final FacetIndex flashcardFacets = new FacetIndex();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+
+        Query quizQuery = new Query();
+        quizQuery.fields().include("tags", "isPublic", "createdBy", "createdAt");
+        try (Stream<Quiz> quizzes = mongoTemplate.stream(quizQuery, Quiz.class)) {
+            quizzes.forEach(this::addQuiz);
+        }
+
+        Query flashcardQuery = new Query();
+        flashcardQuery.fields().include("tags", "isPublic", "createdBy", "createdAt");
+        try (Stream<Flashcard> flashcards = mongoTemplate.stream(flashcardQuery, Flashcard.class)) {
+            flashcards.forEach(this::addFlashcard);
+        }
+
+        ready = true;
+        log.info("Tag catalog built in {} ms", System.currentTimeMillis() - start);
+    }
+
+    public Map<String, Long> publicQuizTagCounts() {
+        return quizFacets.publicTagCounts();
+    }
+
+    public Map<String, Long> publicFlashcardTagCounts() {
+        return flashcardFacets.publicTagCounts();
+    }
+
+    public void addQuiz(Quiz quiz) {
+        quizFacets.put(quiz.getId(), quiz.isPublic(), quiz.getCreatedBy(), quiz.getCreatedAt(), quiz.getTags());
+    }
+
+    public void removeQuiz(String quizId) {
+        quizFacets.remove(quizId);
+    }
+
+    public void addFlashcard(Flashcard flashcard) {
+        flashcardFacets.put(flashcard.getId(), flashcard.isPublic(), flashcard.getCreatedBy(), flashcard.getCreatedAt(), flashcard.getTags());
+    }
+
+    public void removeFlashcard(String flashcardId) {
+        flashcardFacets.remove(flashcardId);
+    }
+
+    public FacetIndex.FacetResult browseQuizzes(List<String> tags, String createdBy, String viewer, int offset, int limit) {
+        if (!ready) {
+            return browseFromMongo(Quiz.class, tags, createdBy, viewer, offset, limit);
+        }
+        return quizFacets.browse(tags, createdBy, viewer, offset, limit, MAX_FACETS);
+    }
+
+    public FacetIndex.FacetResult browseFlashcards(List<String> tags, String createdBy, String viewer, int offset, int limit) {
+        if (!ready) {
+            return browseFromMongo(Flashcard.class, tags, createdBy, viewer, offset, limit);
+        }
+        return flashcardFacets.browse(tags, createdBy, viewer, offset, limit, MAX_FACETS);
+    }
+
+    // Used while the catalog is still loading after startup, no facet counts. Tags are matched the way the
+    // catalog matches them (case and accents folded), which an exact $all on the raw tags cannot do, so a
+    // tag filter scans the viewer's visible documents newest first and checks their normalized tags.
+    private FacetIndex.FacetResult browseFromMongo(Class<?> type, List<String> tags, String createdBy, String viewer, int offset, int limit) {
+        List<String> keys = FacetIndex.normalizeAll(tags);
+        List<Criteria> criteria = new ArrayList<>();
+        if (createdBy != null) {
+            criteria.add(Criteria.where("createdBy").is(createdBy));
+        }
+        criteria.add(new Criteria().orOperator(
+                Criteria.where("isPublic").is(true),
+                Criteria.where("createdBy").is(viewer)
+        ));
+
+        Query query = new Query(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by("_id")));
+        String collection = mongoTemplate.getCollectionName(type);
+
+        if (keys.isEmpty()) {
+            long total = mongoTemplate.count(query, type);
+            query.fields().include("_id");
+            query.skip(offset).limit(limit);
+            List<String> ids = mongoTemplate.find(query, Document.class, collection).stream()
+                    .map(document -> document.get("_id").toString())
+                    .collect(Collectors.toList());
+            return new FacetIndex.FacetResult(total, ids, Collections.emptyMap());
+        }
+
+        query.fields().include("_id", "tags");
+        long total = 0;
+        List<String> ids = new ArrayList<>();
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                if (!FacetIndex.normalizeAll(document.getList("tags", String.class)).containsAll(keys)) {
+                    continue;
+                }
+                if (total >= offset && ids.size() < limit) {
+                    ids.add(document.get("_id").toString());
+                }
+                total++;
+            }
+        }
+        return new FacetIndex.FacetResult(total, ids, Collections.emptyMap());
+    }
+}
@@ -0,0 +1,96 @@
+package com.quizmaster.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Turns free text into index terms: accent folding, lowercasing, stop word removal and light stemming
+public final class TextAnalyzer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "what", "which", "with"
+    );
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean tokenChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                addTerm(terms, folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    // Lowercases and strips diacritics so that "Toán" and "toan" share a term
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            // d with stroke has no canonical decomposition
+            if (c == '\u0111' || c == '\u0110') {
+                c = 'd';
+            }
+            sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    private static void addTerm(List<String> terms, String token) {
+        if (token.length() < MIN_TERM_LENGTH || STOP_WORDS.contains(token)) {
+            return;
+        }
+        terms.add(stem(token));
+    }
+
+    // Conservative English suffix stripping; keeps stems at three characters or more
+    static String stem(String term) {
+        int length = term.length();
+        if (length > 4 && term.endsWith("ies")) {
+            return term.substring(0, length - 3) + "y";
+        }
+        if (length > 5 && term.endsWith("ing")) {
+            return undouble(term.substring(0, length - 3));
+        }
+        if (length > 4 && term.endsWith("ed") && !term.endsWith("eed")) {
+            return undouble(term.substring(0, length - 2));
+        }
+        if (length > 4 && (term.endsWith("sses") || term.endsWith("xes") || term.endsWith("ches") || term.endsWith("shes"))) {
+            return term.substring(0, length - 2);
+        }
+        if (length > 3 && term.endsWith("s") && !term.endsWith("ss") && !term.endsWith("us") && !term.endsWith("is")) {
+            return term.substring(0, length - 1);
+        }
+        return term;
+    }
+
+    // "programm" -> "program", "runn" -> "run"
+    private static String undouble(String stem) {
+        int length = stem.length();
+        if (length >= 3 && stem.charAt(length - 1) == stem.charAt(length - 2)
+                && "lsz".indexOf(stem.charAt(length - 1)) < 0 && Character.isLetter(stem.charAt(length - 1))) {
+            return stem.substring(0, length - 1);
+        }
+        return stem;
+    }
+}
@@ -0,0 +1,136 @@
+package com.quizmaster.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quizmaster.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Sliding-window limits on password-checking endpoints, per client IP and per username.
+// Checked before any hashing, so a credential-stuffing burst is refused for the cost of a map lookup.
+// Every attempt counts against the IP. Only failed password checks count against a username, and
+// per client IP, so nobody can lock an account by failing logins for it from elsewhere.
+// Idle windows expire from the map.
+@Component
+public class AuthAttemptLimiter {
+
+    private static final String REJECTED = "quizmaster.auth.attempts.rejected";
+
+    private final Cache<String, Window> windows;
+    private final long windowNanos;
+    private final int ipMaxAttempts;
+    private final int usernameMaxAttempts;
+    private final Counter ipRejected;
+    private final Counter usernameRejected;
+
+    public AuthAttemptLimiter(
+            MeterRegistry registry,
+            @Value("${quizmaster.auth.limit.window-seconds:300}") long windowSeconds,
+            @Value("${quizmaster.auth.limit.ip-max-attempts:50}") int ipMaxAttempts,
+            @Value("${quizmaster.auth.limit.username-max-attempts:10}") int usernameMaxAttempts,
+            @Value("${quizmaster.auth.limit.max-keys:100000}") long maxKeys
+    ) {
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        this.ipMaxAttempts = ipMaxAttempts;
+        this.usernameMaxAttempts = usernameMaxAttempts;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofSeconds(windowSeconds))
+                .build();
+        this.ipRejected = Counter.builder(REJECTED).tag("limit", "ip").register(registry);
+        this.usernameRejected = Counter.builder(REJECTED).tag("limit", "username").register(registry);
+    }
+
+    // Either argument may be null when that limit does not apply to the endpoint
+    public void check(String clientIp, String username) {
+        if (clientIp != null) {
+            Window window = windows.get("ip:" + clientIp, k -> new Window(ipMaxAttempts));
+            reject(window.tryAcquire(System.nanoTime(), windowNanos), ipRejected);
+        }
+        if (username != null) {
+            Window window = windows.getIfPresent(usernameKey(clientIp, username));
+            if (window != null) {
+                reject(window.waitNanos(System.nanoTime(), windowNanos), usernameRejected);
+            }
+        }
+    }
+
+    // Counts a failed password check for the username, from the client IP if known
+    public void recordFailure(String clientIp, String username) {
+        windows.get(usernameKey(clientIp, username), k -> new Window(usernameMaxAttempts))
+                .record(System.nanoTime());
+    }
+
+    private static String usernameKey(String clientIp, String username) {
+        return clientIp != null ? "user:" + username + "@" + clientIp : "user:" + username;
+    }
+
+    private static void reject(long waitNanos, Counter rejected) {
+        if (waitNanos > 0) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many attempts, please try again later",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos)));
+        }
+    }
+
+    // The times of the last maxAttempts counted attempts, in a ring buffer
+    private static class Window {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] accepted;
+        private int next;
+        private int count;
+
+        Window(int maxAttempts) {
+            this.accepted = new long[Math.max(1, maxAttempts)];
+        }
+
+        // Returns 0 if the attempt is accepted and counts it, otherwise how long until the oldest one leaves the window
+        long tryAcquire(long now, long windowNanos) {
+            lock.lock();
+            try {
+                long waitNanos = waitNanos(now, windowNanos);
+                if (waitNanos == 0) {
+                    record(now);
+                }
+                return waitNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // How long until another attempt would be accepted, 0 if it would be now
+        long waitNanos(long now, long windowNanos) {
+            lock.lock();
+            try {
+                if (count < accepted.length) {
+                    return 0;
+                }
+                long age = now - accepted[next];
+                return age < windowNanos ? windowNanos - age : 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Counts an attempt, dropping the oldest once the window is full
+        void record(long now) {
+            lock.lock();
+            try {
+                if (count < accepted.length) {
+                    count++;
+                }
+                accepted[next] = now;
+                next = (next + 1) % accepted.length;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
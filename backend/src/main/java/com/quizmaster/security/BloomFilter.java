@@ -0,0 +1,70 @@
+package com.quizmaster.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size Bloom filter over string ids. A probe answers "definitely not added" or "possibly added".
+// Adds are lock-free and visible to concurrent probes; there is no removal, so owners rebuild the
+// filter to drop entries that no longer matter.
+final class BloomFilter {
+
+    private static final int MAX_HASHES = 16;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(long expectedEntries, double falsePositiveRate) {
+        long entries = Math.max(1, expectedEntries);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bitCount / entries * ln2)));
+    }
+
+    void add(String id) {
+        long h1 = hash(id);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, set) -> current | set);
+            }
+        }
+    }
+
+    boolean mightContain(String id) {
+        long h1 = hash(id);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return words.length() * 8L;
+    }
+
+    // 64-bit FNV-1a over the chars, then a finalizer so nearby ids spread over the whole range
+    private static long hash(String id) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
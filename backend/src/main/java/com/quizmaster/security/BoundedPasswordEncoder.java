@@ -0,0 +1,109 @@
+package com.quizmaster.security;
+
+import com.quizmaster.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs the delegate encoder on a small dedicated pool, so a burst of logins or registrations can
+// use at most that many cores and quiz traffic keeps the rest. The queue is bounded and callers
+// wait at most max-wait for their hash; past either limit the request fails fast with 429.
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final String HASH = "quizmaster.password.hash";
+    private static final String REJECTED = "quizmaster.password.hash.rejected";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMs, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.maxWaitMs = maxWaitMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder(HASH).tag("operation", "encode").register(registry);
+        this.matchesTimer = Timer.builder(HASH).tag("operation", "matches").register(registry);
+        this.queueFull = Counter.builder(REJECTED).tag("reason", "queue-full").register(registry);
+        this.timedOut = Counter.builder(REJECTED).tag("reason", "timeout").register(registry);
+        new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // Called by Spring when the context closes
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T hash(Timer timer, Callable<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(work));
+        } catch (RejectedExecutionException e) {
+            queueFull.increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Drops the hash if it has not started yet; one already running finishes on its own
+            future.cancel(false);
+            timedOut.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Failed to hash password", e.getCause());
+        }
+    }
+
+    private static TooManyRequestsException busy() {
+        return new TooManyRequestsException("Too many sign-in requests, please try again shortly", 1);
+    }
+}
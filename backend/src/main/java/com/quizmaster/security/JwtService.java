@@ -1,5 +1,6 @@
 package com.quizmaster.security;
 
+import com.quizmaster.exception.InvalidRefreshTokenException;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -13,11 +14,17 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    // Refresh tokens carry a type claim, a token id (jti) and the id of the rotation family they belong to
+    public static final String TYPE_CLAIM = "typ";
+    public static final String REFRESH_TYPE = "refresh";
+    public static final String FAMILY_CLAIM = "fam";
+
     @Value("${JWT_SECRET}")
     private String secretKey;
 
@@ -47,10 +54,40 @@ public class JwtService {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
 
+    // Starts a new rotation family, e.g. on login
     public String generateRefreshToken(
             UserDetails userDetails
     ) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+        return generateRefreshToken(userDetails, UUID.randomUUID().toString());
+    }
+
+    public String generateRefreshToken(
+            UserDetails userDetails,
+            String family
+    ) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TYPE_CLAIM, REFRESH_TYPE);
+        claims.put(FAMILY_CLAIM, family);
+        claims.put(Claims.ID, UUID.randomUUID().toString());
+        return buildToken(claims, userDetails, refreshExpiration);
+    }
+
+    // Signature, expiry and type checked; revocation is up to the caller
+    public Claims parseRefreshToken(String token) {
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (Exception e) {
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
+        if (!REFRESH_TYPE.equals(claims.get(TYPE_CLAIM)) || claims.getId() == null || claims.get(FAMILY_CLAIM) == null) {
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
+        return claims;
+    }
+
+    public long getRefreshExpiration() {
+        return refreshExpiration;
     }
 
     private String buildToken(
@@ -68,17 +105,12 @@ public class JwtService {
                 .compact();
     }
 
+    // Access tokens only: a refresh token is not accepted as a bearer token
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date())
+                && !REFRESH_TYPE.equals(claims.get(TYPE_CLAIM));
     }
 
     private Claims extractAllClaims(String token) {
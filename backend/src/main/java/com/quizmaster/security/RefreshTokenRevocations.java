@@ -0,0 +1,151 @@
+package com.quizmaster.security;
+
+import com.quizmaster.model.RevokedRefreshToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+// Revoked refresh token ids and families. Mongo (revoked_refresh_tokens, TTL on expiresAt) is the
+// source of truth; a Bloom filter in front of it answers most revocation checks with a hash probe,
+// and only "possibly revoked" answers are confirmed with a lookup.
+// Revocations made on other nodes reach the filter through a periodic sync, and the filter is rebuilt
+// from the collection now and then so entries the TTL removed stop taking up bits.
+// A family revoked on another node is therefore seen here only after up to one sync interval, during which
+// one more refresh of that family can pass on this node. The tokens it issues belong to the revoked family
+// and are refused from the next sync on. A reused token id is refused at once on every node, because
+// consume() is decided by the unique insert.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenRevocations {
+
+    private static final String CHECKS = "quizmaster.auth.revocation.checks";
+
+    // Sync slightly before the last pass to cover inserts committed out of order or with clock skew
+    private static final long SYNC_OVERLAP_SECONDS = 10;
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${quizmaster.auth.revocation.expected-entries:1000000}")
+    private long expectedEntries;
+
+    @Value("${quizmaster.auth.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime syncedUpTo;
+
+    public boolean isRevoked(String tokenId, String family) {
+        return isRevoked(tokenId) || isRevoked(family);
+    }
+
+    // Marks a token id as used up by rotation. Only one caller can win, so a token presented twice
+    // concurrently is reported as reused to the second one.
+    public boolean consume(String tokenId, String username, LocalDateTime tokenExpiresAt) {
+        try {
+            mongoTemplate.insert(RevokedRefreshToken.builder()
+                    .id(tokenId)
+                    .kind(RevokedRefreshToken.Kind.TOKEN)
+                    .username(username)
+                    .revokedAt(LocalDateTime.now())
+                    .expiresAt(tokenExpiresAt)
+                    .build());
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+        currentFilter().add(tokenId);
+        return true;
+    }
+
+    // Every token of the family was issued before now, so none outlives now + the refresh lifetime
+    public void revokeFamily(String family, String username, LocalDateTime lastTokenExpiresAt) {
+        mongoTemplate.save(RevokedRefreshToken.builder()
+                .id(family)
+                .kind(RevokedRefreshToken.Kind.FAMILY)
+                .username(username)
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(lastTokenExpiresAt)
+                .build());
+        currentFilter().add(family);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${quizmaster.auth.revocation.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime passStart = LocalDateTime.now();
+        BloomFilter rebuilt = new BloomFilter(expectedEntries, falsePositiveRate);
+        long entries = 0;
+
+        Query query = new Query(Criteria.where("expiresAt").gt(passStart));
+        query.fields().include("_id");
+        try (Stream<RevokedRefreshToken> revoked = mongoTemplate.stream(query, RevokedRefreshToken.class)) {
+            for (RevokedRefreshToken entry : (Iterable<RevokedRefreshToken>) revoked::iterator) {
+                rebuilt.add(entry.getId());
+                entries++;
+            }
+        }
+
+        // Picks up what this and other nodes revoked while the collection was being read, before the
+        // filter goes live; then what this node added to the old filter until the swap
+        syncFrom(rebuilt, passStart);
+        LocalDateTime syncStart = syncedUpTo;
+        filter = rebuilt;
+        syncFrom(rebuilt, syncStart);
+        log.info("Refresh token revocation filter rebuilt with {} entries ({} KB) in {} ms",
+                entries, rebuilt.sizeInBytes() / 1024, System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${quizmaster.auth.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime since = syncedUpTo;
+        BloomFilter current = filter;
+        if (since != null && current != null) {
+            syncFrom(current, since);
+        }
+    }
+
+    private void syncFrom(BloomFilter target, LocalDateTime since) {
+        LocalDateTime passStart = LocalDateTime.now();
+        Query query = new Query(Criteria.where("revokedAt").gte(since.minusSeconds(SYNC_OVERLAP_SECONDS)));
+        query.fields().include("_id");
+        for (RevokedRefreshToken entry : mongoTemplate.find(query, RevokedRefreshToken.class)) {
+            target.add(entry.getId());
+        }
+        syncedUpTo = passStart;
+    }
+
+    private boolean isRevoked(String id) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(id)) {
+            meterRegistry.counter(CHECKS, "result", "filter-miss").increment();
+            return false;
+        }
+        // Possibly revoked, or the filter is not built yet
+        boolean revoked = mongoTemplate.exists(Query.query(Criteria.where("_id").is(id)), RevokedRefreshToken.class);
+        meterRegistry.counter(CHECKS, "result", revoked ? "revoked" : "false-positive").increment();
+        return revoked;
+    }
+
+    private BloomFilter currentFilter() {
+        BloomFilter current = filter;
+        if (current == null) {
+            // Revocations before the first rebuild are still in Mongo; the rebuild picks them up
+            return new BloomFilter(1, falsePositiveRate);
+        }
+        return current;
+    }
+}
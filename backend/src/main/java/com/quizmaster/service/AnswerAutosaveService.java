@@ -0,0 +1,183 @@
+package com.quizmaster.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quizmaster.cache.QuizCache;
+import com.quizmaster.model.Quiz;
+import com.quizmaster.model.QuizAttempt;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Autosaved answers of open quiz attempts. Saves are merged in memory per attempt and the latest
+// state is written back on a fixed interval with one $set per attempt, batched across attempts,
+// so a client saving on every click costs at most one write per attempt per interval.
+@Slf4j
+@Service
+public class AnswerAutosaveService {
+
+    private final MongoTemplate mongoTemplate;
+    private final QuizCache quizCache;
+    private final long graceSeconds;
+    // Attempts seen recently; loading one checks ownership and seeds the answers already stored
+    private final Cache<String, SavedAnswers> attempts;
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public AnswerAutosaveService(
+            MongoTemplate mongoTemplate,
+            QuizCache quizCache,
+            @Value("${quizmaster.timer.grace-seconds:5}") long graceSeconds,
+            @Value("${quizmaster.autosave.idle-minutes:30}") long idleMinutes
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.quizCache = quizCache;
+        this.graceSeconds = graceSeconds;
+        this.attempts = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+    }
+
+    public void saveAnswers(String attemptId, Map<String, List<String>> answers) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        
+        SavedAnswers saved = attempts.get(attemptId, this::load);
+        if (saved == null) {
+            throw new RuntimeException("Quiz attempt not found");
+        }
+        
+        // Verify that the attempt belongs to the current user
+        if (!saved.userId.equals(username)) {
+            throw new RuntimeException("Unauthorized access to quiz attempt");
+        }
+        if (saved.closed) {
+            throw new RuntimeException("Quiz attempt already completed");
+        }
+        if (saved.deadline != null && LocalDateTime.now().isAfter(saved.deadline.plusSeconds(graceSeconds))) {
+            throw new RuntimeException("Time limit exceeded");
+        }
+        
+        checkQuestionIds(answers, saved.questionIds);
+        
+        answers.forEach((questionId, optionIds) -> {
+            if (optionIds == null || optionIds.isEmpty()) {
+                saved.answers.remove(questionId);
+            } else {
+                saved.answers.put(questionId, List.copyOf(optionIds));
+            }
+        });
+        dirty.add(attemptId);
+    }
+    
+    // Latest answers for an attempt that is being submitted; stops further autosaves for it
+    public Optional<Map<String, List<String>>> close(String attemptId) {
+        SavedAnswers saved = attempts.getIfPresent(attemptId);
+        dirty.remove(attemptId);
+        if (saved == null) {
+            return Optional.empty();
+        }
+        saved.closed = true;
+        attempts.invalidate(attemptId);
+        return Optional.of(new HashMap<>(saved.answers));
+    }
+    
+    @Scheduled(fixedDelayString = "${quizmaster.autosave.flush-interval-ms:3000}")
+    public void flush() {
+        flush(new ArrayList<>(dirty));
+    }
+    
+    // Writes pending answers of the given attempts now, e.g. before the timer grades them
+    public void flush(Collection<String> attemptIds) {
+        BulkOperations bulk = null;
+        List<String> written = new ArrayList<>();
+        for (String attemptId : attemptIds) {
+            if (!dirty.remove(attemptId)) {
+                continue;
+            }
+            SavedAnswers saved = attempts.getIfPresent(attemptId);
+            if (saved == null) {
+                continue;
+            }
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuizAttempt.class);
+            }
+            // Saves arriving after the copy mark the attempt dirty again for the next flush
+            bulk.updateOne(new Query(Criteria.where("_id").is(attemptId).and("completed").is(false)),
+                    new Update().set("answers", new HashMap<>(saved.answers)));
+            written.add(attemptId);
+        }
+        if (bulk == null) {
+            return;
+        }
+        try {
+            bulk.execute();
+        } catch (RuntimeException e) {
+            // Nothing is known to be stored; keep the attempts still open pending for the next flush
+            for (String attemptId : written) {
+                SavedAnswers saved = attempts.getIfPresent(attemptId);
+                if (saved != null && !saved.closed) {
+                    dirty.add(attemptId);
+                }
+            }
+            throw e;
+        }
+        log.debug("Flushed autosaved answers for {} attempts", written.size());
+    }
+    
+    // Question ids become field names in the stored map, so only the quiz's own ids are accepted
+    static void checkQuestionIds(Map<String, List<String>> answers, Set<String> questionIds) {
+        for (String questionId : answers.keySet()) {
+            if (!questionIds.contains(questionId)) {
+                throw new RuntimeException("Unknown question: " + questionId);
+            }
+        }
+    }
+    
+    private SavedAnswers load(String attemptId) {
+        QuizAttempt attempt = mongoTemplate.findById(attemptId, QuizAttempt.class);
+        if (attempt == null) {
+            return null;
+        }
+        Set<String> questionIds = quizCache.get(attempt.getQuizId())
+                .map(cachedQuiz -> cachedQuiz.getQuiz().getQuestions().stream()
+                        .map(Quiz.Question::getId)
+                        .collect(Collectors.toSet()))
+                .orElse(Collections.emptySet());
+        
+        SavedAnswers saved = new SavedAnswers(attempt.getUserId(), attempt.getDeadline(), questionIds);
+        if (attempt.getAnswers() != null) {
+            saved.answers.putAll(attempt.getAnswers());
+        }
+        saved.closed = attempt.isCompleted();
+        return saved;
+    }
+    
+    private static class SavedAnswers {
+        private final String userId;
+        private final LocalDateTime deadline;
+        private final Set<String> questionIds;
+        private final Map<String, List<String>> answers = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+        
+        SavedAnswers(String userId, LocalDateTime deadline, Set<String> questionIds) {
+            this.userId = userId;
+            this.deadline = deadline;
+            this.questionIds = questionIds;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.quizmaster.service;
+
+import com.quizmaster.cache.QuizCache;
+import com.quizmaster.model.Quiz;
+import com.quizmaster.model.QuizAttempt;
+import com.quizmaster.timing.HashedTimingWheel;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Server-side enforcement of quiz time limits. Every open timed attempt sits in a hashed timing wheel;
+// when its deadline (plus a grace period for network latency) passes, it is graded from its autosaved
+// answers and closed. Expired attempts are finalized in batches off the wheel thread.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttemptTimerService {
+
+    private static final int FINALIZE_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final QuizCache quizCache;
+    private final QuizAnalyticsService quizAnalyticsService;
+    private final LeaderboardService leaderboardService;
+    private final AnswerAutosaveService answerAutosaveService;
+    private final Map<String, HashedTimingWheel.Timeout<String>> timeouts = new ConcurrentHashMap<>();
+    private final ExecutorService finalizer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "attempt-finalizer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${quizmaster.timer.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${quizmaster.timer.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${quizmaster.timer.grace-seconds:5}")
+    private long graceSeconds;
+
+    private volatile HashedTimingWheel<String> wheel;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        wheel = new HashedTimingWheel<>("attempt-timer", tickMs, TimeUnit.MILLISECONDS, wheelSize,
+                attemptIds -> finalizer.execute(() -> finalizeExpired(attemptIds)));
+        wheel.start();
+
+        // Re-arm attempts left open by a previous run; ones already past due expire on the first tick
+        Query query = new Query(Criteria.where("completed").is(false).and("deadline").ne(null));
+        query.fields().include("_id", "deadline");
+        long restored = 0;
+        try (Stream<QuizAttempt> attempts = mongoTemplate.stream(query, QuizAttempt.class)) {
+            for (QuizAttempt attempt : (Iterable<QuizAttempt>) attempts::iterator) {
+                track(attempt.getId(), attempt.getDeadline());
+                restored++;
+            }
+        }
+        log.info("Attempt timer started with {} open timed attempts", restored);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (wheel != null) {
+            wheel.stop();
+        }
+        finalizer.shutdown();
+    }
+
+    // Deadline for an attempt started now, or null if the quiz is untimed
+    public LocalDateTime deadlineFor(Quiz quiz, LocalDateTime startedAt) {
+        return quiz.getTimeLimit() > 0 ? startedAt.plusMinutes(quiz.getTimeLimit()) : null;
+    }
+
+    public void track(String attemptId, LocalDateTime deadline) {
+        if (deadline == null || wheel == null) {
+            return;
+        }
+        long delayMs = Duration.between(LocalDateTime.now(), deadline.plusSeconds(graceSeconds)).toMillis();
+        timeouts.put(attemptId, wheel.schedule(attemptId, delayMs, TimeUnit.MILLISECONDS));
+    }
+
+    public void untrack(String attemptId) {
+        HashedTimingWheel.Timeout<String> timeout = timeouts.remove(attemptId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    // Submissions are accepted until the deadline plus the grace period
+    public boolean isExpired(QuizAttempt attempt) {
+        return attempt.getDeadline() != null
+                && LocalDateTime.now().isAfter(attempt.getDeadline().plusSeconds(graceSeconds));
+    }
+
+    private void finalizeExpired(List<String> attemptIds) {
+        for (int from = 0; from < attemptIds.size(); from += FINALIZE_BATCH_SIZE) {
+            List<String> batch = attemptIds.subList(from, Math.min(attemptIds.size(), from + FINALIZE_BATCH_SIZE));
+            try {
+                finalizeBatch(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to finalize {} expired attempts", batch.size(), e);
+            }
+        }
+    }
+
+    private void finalizeBatch(List<String> attemptIds) {
+        attemptIds.forEach(timeouts::remove);
+
+        List<QuizAttempt> attempts = mongoTemplate.find(
+                new Query(Criteria.where("_id").in(attemptIds).and("completed").is(false)), QuizAttempt.class);
+        if (attempts.isEmpty()) {
+            return;
+        }
+
+        int finalized = 0;
+        for (QuizAttempt attempt : attempts) {
+            Quiz quiz = quizCache.get(attempt.getQuizId())
+                    .map(QuizCache.CachedQuiz::getQuiz)
+                    .orElse(null);
+            // Autosaves not yet flushed are newer than what was read
+            answerAutosaveService.close(attempt.getId()).ifPresent(attempt::setAnswers);
+
+            Update update = new Update()
+                    .set("answers", attempt.getAnswers())
+                    .set("timeSpent", (int) Duration.between(attempt.getStartedAt(), attempt.getDeadline()).getSeconds())
+                    .set("completed", true)
+                    .set("autoSubmitted", true)
+                    .set("completedAt", attempt.getDeadline())
+                    .set("updatedAt", LocalDateTime.now());
+            QuizGrader.Result result = null;
+            if (quiz != null) {
+                result = QuizGrader.grade(quiz, attempt.getAnswers());
+                update.set("score", result.getScore())
+                        .set("correctAnswers", result.getCorrectAnswers())
+                        .set("wrongAnswers", result.getWrongAnswers())
+                        .set("unanswered", result.getUnanswered())
+                        .set("questionOutcomes", result.getOutcomes());
+            } else {
+                // The quiz is gone, so nothing can be graded; close the attempt as unanswered
+                update.set("score", 0)
+                        .set("correctAnswers", 0)
+                        .set("wrongAnswers", 0)
+                        .set("unanswered", attempt.getTotalQuestions())
+                        .set("questionOutcomes", new byte[(attempt.getTotalQuestions() + 3) / 4]);
+            }
+
+            // Guarded on completed=false so a submit that raced the timer wins
+            QuizAttempt closed = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(attempt.getId()).and("completed").is(false)), update,
+                    FindAndModifyOptions.options().returnNew(true), QuizAttempt.class);
+            if (closed == null) {
+                continue;
+            }
+            finalized++;
+            if (quiz != null) {
+                quizAnalyticsService.recordAttempt(quiz, closed.getAnswers(), null, closed.getTimeSpent(), result.getOutcomes());
+                leaderboardService.recordAttempt(closed);
+            }
+        }
+        log.info("Auto-submitted {} expired quiz attempts", finalized);
+    }
+}
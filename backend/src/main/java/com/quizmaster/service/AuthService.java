@@ -6,20 +6,27 @@ import com.quizmaster.dto.request.RegisterRequest;
 import com.quizmaster.dto.request.ResetPasswordRequest;
 import com.quizmaster.dto.request.VerifyEmailRequest;
 import com.quizmaster.dto.request.ChangePasswordRequest;
+import com.quizmaster.dto.request.RefreshTokenRequest;
 import com.quizmaster.dto.response.AuthResponse;
 import com.quizmaster.dto.response.MessageResponse;
+import com.quizmaster.exception.InvalidRefreshTokenException;
 import com.quizmaster.model.User;
 import com.quizmaster.repository.UserRepository;
+import com.quizmaster.security.AuthAttemptLimiter;
 import com.quizmaster.security.JwtService;
+import com.quizmaster.security.RefreshTokenRevocations;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -33,8 +40,12 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
+    private final AuthAttemptLimiter authAttemptLimiter;
+    private final RefreshTokenRevocations refreshTokenRevocations;
+
+    public AuthResponse register(RegisterRequest request, String clientIp) {
+        authAttemptLimiter.check(clientIp, null);
 
-    public AuthResponse register(RegisterRequest request) {
         // Check if username or email already exists
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new RuntimeException("Username is already taken");
@@ -80,13 +91,22 @@ public class AuthService {
                 .build();
     }
 
-    public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        // Limits are checked before the password is hashed
+        authAttemptLimiter.check(clientIp, request.getUsername());
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getUsername(),
+                            request.getPassword()
+                    )
+            );
+        } catch (AuthenticationException e) {
+            authAttemptLimiter.recordFailure(clientIp, request.getUsername());
+            throw e;
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         User user = (User) authentication.getPrincipal();
@@ -100,6 +120,40 @@ public class AuthService {
                 .build();
     }
 
+    // Rotates the refresh token: the presented one is used up and a new one in the same family is issued.
+    // Presenting a used-up token again means it leaked or was replayed, so the whole family is revoked
+    // and the legitimate holder has to log in again.
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        Claims claims = jwtService.parseRefreshToken(request.getRefreshToken());
+        String tokenId = claims.getId();
+        String family = claims.get(JwtService.FAMILY_CLAIM, String.class);
+        String username = claims.getSubject();
+
+        if (refreshTokenRevocations.isRevoked(tokenId, family)
+                || !refreshTokenRevocations.consume(tokenId, username, expiresAt(claims))) {
+            refreshTokenRevocations.revokeFamily(family, username, familyExpiry());
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new InvalidRefreshTokenException("User not found"));
+        if (!user.isEnabled() || !user.isAccountNonLocked()) {
+            throw new InvalidRefreshTokenException("Account is disabled");
+        }
+
+        return AuthResponse.builder()
+                .token(jwtService.generateToken(user))
+                .refreshToken(jwtService.generateRefreshToken(user, family))
+                .build();
+    }
+
+    public MessageResponse logout(RefreshTokenRequest request) {
+        Claims claims = jwtService.parseRefreshToken(request.getRefreshToken());
+        refreshTokenRevocations.revokeFamily(claims.get(JwtService.FAMILY_CLAIM, String.class),
+                claims.getSubject(), familyExpiry());
+        return new MessageResponse("Logged out successfully");
+    }
+
     public MessageResponse forgotPassword(ForgotPasswordRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -116,7 +170,9 @@ public class AuthService {
         return new MessageResponse("Password reset email sent");
     }
 
-    public MessageResponse resetPassword(ResetPasswordRequest request) {
+    public MessageResponse resetPassword(ResetPasswordRequest request, String clientIp) {
+        authAttemptLimiter.check(clientIp, null);
+
         User user = userRepository.findByResetPasswordToken(request.getToken())
                 .orElseThrow(() -> new RuntimeException("Invalid token"));
 
@@ -158,9 +214,11 @@ public class AuthService {
         // Get current authenticated user
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         User user = (User) authentication.getPrincipal();
+        authAttemptLimiter.check(null, user.getUsername());
 
         // Verify current password
         if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+            authAttemptLimiter.recordFailure(null, user.getUsername());
             throw new RuntimeException("Current password is incorrect");
         }
 
@@ -170,4 +228,12 @@ public class AuthService {
 
         return new MessageResponse("Password changed successfully");
     }
+
+    private static LocalDateTime expiresAt(Claims claims) {
+        return LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+    }
+
+    private LocalDateTime familyExpiry() {
+        return LocalDateTime.now().plusNanos(jwtService.getRefreshExpiration() * 1_000_000);
+    }
 }
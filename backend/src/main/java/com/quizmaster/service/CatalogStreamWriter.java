@@ -0,0 +1,92 @@
+package com.quizmaster.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.quizmaster.config.PayloadFormat;
+import com.quizmaster.config.PayloadMappers;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Writes catalog listings straight from a Mongo cursor to the response, one document at a time,
+// as an array in the negotiated payload format (JSON by default) or as NDJSON. Nothing is collected
+// into a list: the cursor fetches its next batch only once the previous one has been written, so a
+// slow client holds back the database reads instead of the server buffering the whole result.
+@Component
+public class CatalogStreamWriter {
+
+    private final Map<PayloadFormat, ObjectWriter> writers = new EnumMap<>(PayloadFormat.class);
+
+    public CatalogStreamWriter(PayloadMappers payloadMappers) {
+        for (PayloadFormat format : PayloadFormat.values()) {
+            // Let the servlet buffer decide when to send a chunk rather than flushing after every document
+            writers.put(format, payloadMappers.get(format).writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        }
+    }
+
+    // The source is opened when the response body is written, on the async request thread
+    public <T> StreamingResponseBody write(Supplier<Stream<T>> source, Function<T, ?> mapper, Encoding encoding) {
+        ObjectWriter writer = writers.get(encoding.format);
+        boolean ndjson = encoding == Encoding.NDJSON;
+        return out -> {
+            try (Stream<T> documents = source.get();
+                 JsonGenerator generator = writer.createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                if (!ndjson) {
+                    generator.writeStartArray();
+                }
+                for (T document : (Iterable<T>) documents::iterator) {
+                    writer.writeValue(generator, mapper.apply(document));
+                    if (ndjson) {
+                        generator.writeRaw('\n');
+                    }
+                }
+                if (!ndjson) {
+                    generator.writeEndArray();
+                }
+            }
+        };
+    }
+
+    public enum Encoding {
+
+        JSON_ARRAY(PayloadFormat.JSON, MediaType.APPLICATION_JSON),
+        NDJSON(PayloadFormat.JSON, MediaType.APPLICATION_NDJSON),
+        SMILE_ARRAY(PayloadFormat.SMILE, PayloadFormat.SMILE.getMediaType()),
+        CBOR_ARRAY(PayloadFormat.CBOR, PayloadFormat.CBOR.getMediaType());
+
+        private final PayloadFormat format;
+        private final MediaType mediaType;
+
+        Encoding(PayloadFormat format, MediaType mediaType) {
+            this.format = format;
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        // NDJSON only when asked for by name, otherwise the array in the negotiated format
+        public static Encoding forAccept(String accept) {
+            if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+                return NDJSON;
+            }
+            PayloadFormat format = PayloadFormat.negotiate(accept);
+            if (format == PayloadFormat.SMILE) {
+                return SMILE_ARRAY;
+            }
+            if (format == PayloadFormat.CBOR) {
+                return CBOR_ARRAY;
+            }
+            return JSON_ARRAY;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.quizmaster.service;
+
+import com.quizmaster.model.User;
+import com.quizmaster.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+// Streams everything a user owns as NDJSON straight from Mongo cursors to the response.
+// Each line is {"collection": ..., "document": ...} in relaxed extended JSON, collections are
+// written in a fixed order and each is sorted by _id, so an interrupted export can be resumed
+// from the collection and _id of the last complete line. A final line marks completion.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentExportService {
+
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder()
+            .outputMode(JsonMode.RELAXED)
+            .build();
+
+    // Export order, owner field and fields never exported
+    private static final List<Section> SECTIONS = List.of(
+            new Section("users", "username", List.of("password", "verificationToken", "verificationTokenExpiry",
+                    "resetPasswordToken", "resetPasswordTokenExpiry")),
+            new Section("quizzes", "createdBy", List.of()),
+            new Section("flashcards", "createdBy", List.of()),
+            new Section("quiz_attempts", "userId", List.of()),
+            new Section("flashcard_studies", "userId", List.of()),
+            new Section("card_review_states", "userId", List.of()),
+            new Section("chat_sessions", "userId", List.of())
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+
+    @Value("${quizmaster.export.cursor-batch-size:500}")
+    private int cursorBatchSize;
+
+    public static List<String> collections() {
+        return SECTIONS.stream().map(section -> section.collection).collect(Collectors.toList());
+    }
+
+    public StreamingResponseBody exportCurrentUser(String afterCollection, String afterId, boolean gzip) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return export(authentication.getName(), afterCollection, afterId, gzip);
+    }
+
+    public StreamingResponseBody exportUser(String userId, String afterCollection, String afterId, boolean gzip) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return export(user.getUsername(), afterCollection, afterId, gzip);
+    }
+
+    // Everything is resolved on the request thread; the body itself is written on the async executor
+    private StreamingResponseBody export(String username, String afterCollection, String afterId, boolean gzip) {
+        int startSection = 0;
+        if (afterCollection != null) {
+            startSection = collections().indexOf(afterCollection);
+            if (startSection < 0) {
+                throw new RuntimeException("Unknown export collection: " + afterCollection);
+            }
+        }
+        int firstSection = startSection;
+
+        return outputStream -> {
+            long start = System.currentTimeMillis();
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+            Map<String, Object> counts = new LinkedHashMap<>();
+
+            for (int i = firstSection; i < SECTIONS.size(); i++) {
+                Section section = SECTIONS.get(i);
+                Query query = new Query(Criteria.where(section.ownerField).is(username));
+                if (i == firstSection && afterId != null) {
+                    query.addCriteria(Criteria.where("_id").gt(ObjectId.isValid(afterId) ? new ObjectId(afterId) : afterId));
+                }
+                query.with(Sort.by(Sort.Direction.ASC, "_id"));
+                query.cursorBatchSize(cursorBatchSize);
+                section.excludedFields.forEach(field -> query.fields().exclude(field));
+
+                long written = 0;
+                try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, section.collection)) {
+                    for (Document document : (Iterable<Document>) documents::iterator) {
+                        writer.write(new Document("collection", section.collection)
+                                .append("document", document)
+                                .toJson(JSON_SETTINGS));
+                        writer.write('\n');
+                        written++;
+                    }
+                }
+                counts.put(section.collection, written);
+            }
+
+            writer.write(new Document("exportComplete", true)
+                    .append("username", username)
+                    .append("counts", new Document(counts))
+                    .toJson(JSON_SETTINGS));
+            writer.write('\n');
+            writer.flush();
+            if (gzip) {
+                ((GZIPOutputStream) target).finish();
+            }
+            log.info("Exported {} for {} in {} ms", counts, username, System.currentTimeMillis() - start);
+        };
+    }
+
+    private static class Section {
+        private final String collection;
+        private final String ownerField;
+        private final List<String> excludedFields;
+
+        Section(String collection, String ownerField, List<String> excludedFields) {
+            this.collection = collection;
+            this.ownerField = ownerField;
+            this.excludedFields = excludedFields;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.quizmaster.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.quizmaster.dto.request.CreateFlashcardRequest;
+import com.quizmaster.dto.request.CreateQuizRequest;
+import com.quizmaster.dto.response.ImportReportResponse;
+import com.quizmaster.model.Flashcard;
+import com.quizmaster.model.Quiz;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Bulk import of quizzes (NDJSON) and flashcard sets (NDJSON or CSV).
+// The upload is parsed record by record from the request stream, each record is validated like a
+// single create request, and valid documents are written with insertMany in fixed-size batches.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentImportService {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final QuizService quizService;
+    private final FlashcardService flashcardService;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${quizmaster.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${quizmaster.import.max-records:10000}")
+    private int maxRecords;
+
+    @Value("${quizmaster.import.max-reported-errors:200}")
+    private int maxReportedErrors;
+
+    @Value("${quizmaster.import.max-cards-per-deck:1000}")
+    private int maxCardsPerDeck;
+
+    // One NDJSON record; longer lines are rejected without being buffered
+    @Value("${quizmaster.import.max-line-chars:1000000}")
+    private int maxLineChars;
+
+    // One quiz per line in the CreateQuizRequest shape
+    public ImportReportResponse importQuizzes(InputStream body) throws IOException {
+        String username = currentUsername();
+        ImportRun<Quiz> run = new ImportRun<>(Quiz.class, Quiz::getId, quizService::onQuizCreated);
+        readNdjson(body, CreateQuizRequest.class, run,
+                (request, line) -> run.accept(line, request.getTitle(), request, () -> quizService.buildQuiz(request, username)));
+        return run.finish();
+    }
+
+    // One flashcard set per line in the CreateFlashcardRequest shape
+    public ImportReportResponse importFlashcardsNdjson(InputStream body) throws IOException {
+        String username = currentUsername();
+        ImportRun<Flashcard> run = new ImportRun<>(Flashcard.class, Flashcard::getId, flashcardService::onFlashcardCreated);
+        readNdjson(body, CreateFlashcardRequest.class, run,
+                (request, line) -> run.accept(line, request.getTitle(), request, () -> flashcardService.buildFlashcard(request, username)));
+        return run.finish();
+    }
+
+    // One card per row with a header line. Consecutive rows with the same "deck" form one set;
+    // description, tags (separated by ';') and public are read from the first row of each deck.
+    public ImportReportResponse importFlashcardsCsv(InputStream body) throws IOException {
+        String username = currentUsername();
+        ImportRun<Flashcard> run = new ImportRun<>(Flashcard.class, Flashcard::getId, flashcardService::onFlashcardCreated);
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+
+        try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+             MappingIterator<Map<String, String>> rows = CSV_MAPPER.readerForMapOf(String.class).with(schema).readValues(reader)) {
+            CreateFlashcardRequest deck = null;
+            long deckLine = 0;
+            boolean deckRejected = false;
+            while (!run.isFull()) {
+                Map<String, String> row;
+                long line;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    line = rows.getCurrentLocation().getLineNr();
+                    row = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    // A malformed row cannot be resynchronised reliably, so the rest of the upload is rejected
+                    run.reject(e.getLocation() != null ? e.getLocation().getLineNr() : 0, null, "Malformed CSV: " + e.getOriginalMessage());
+                    break;
+                }
+
+                String title = trimToNull(row.get("deck"));
+                if (title == null) {
+                    run.reject(line, null, "Column 'deck' is required");
+                    continue;
+                }
+                if (deck == null || !title.equals(deck.getTitle())) {
+                    if (deck != null && !deckRejected) {
+                        CreateFlashcardRequest completed = deck;
+                        run.accept(deckLine, completed.getTitle(), completed, () -> flashcardService.buildFlashcard(completed, username));
+                    }
+                    deck = CreateFlashcardRequest.builder()
+                            .title(title)
+                            .description(trimToNull(row.get("description")))
+                            .tags(splitTags(row.get("tags")))
+                            .isPublic(Boolean.parseBoolean(trimToNull(row.get("public"))))
+                            .cards(new ArrayList<>())
+                            .build();
+                    deckLine = line;
+                    deckRejected = false;
+                }
+                if (deckRejected) {
+                    continue;
+                }
+                // Checked while reading so an oversized deck is never held in memory; its remaining rows are skipped
+                if (deck.getCards().size() >= maxCardsPerDeck) {
+                    run.reject(deckLine, title, "Deck has more than " + maxCardsPerDeck + " cards");
+                    deck.getCards().clear();
+                    deckRejected = true;
+                    continue;
+                }
+                deck.getCards().add(CreateFlashcardRequest.CardDto.builder()
+                        .front(row.get("front"))
+                        .back(row.get("back"))
+                        .imageUrl(trimToNull(row.get("imageUrl")))
+                        .position(deck.getCards().size())
+                        .build());
+            }
+            if (deck != null && !deckRejected && !run.isFull()) {
+                CreateFlashcardRequest completed = deck;
+                run.accept(deckLine, completed.getTitle(), completed, () -> flashcardService.buildFlashcard(completed, username));
+            }
+        }
+        return run.finish();
+    }
+
+    private <R> void readNdjson(InputStream body, Class<R> type, ImportRun<?> run, BiConsumer<R, Long> handler) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(type);
+        try (BoundedLineReader lines = new BoundedLineReader(new InputStreamReader(body, StandardCharsets.UTF_8), maxLineChars)) {
+            String text;
+            long line = 0;
+            while (!run.isFull() && (text = lines.readLine()) != null) {
+                line++;
+                if (lines.isOverlong()) {
+                    run.reject(line, null, "Line longer than " + maxLineChars + " characters");
+                    continue;
+                }
+                if (text.isBlank()) {
+                    continue;
+                }
+                R request;
+                try {
+                    request = reader.readValue(text);
+                } catch (JsonProcessingException e) {
+                    run.reject(line, null, "Malformed JSON: " + e.getOriginalMessage());
+                    continue;
+                }
+                handler.accept(request, line);
+            }
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication.getName();
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static List<String> splitTags(String value) {
+        if (value == null || value.isBlank()) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(value.split(";"))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    // Line reader that keeps at most maxChars of a line; the rest of a longer line is skipped
+    static final class BoundedLineReader implements Closeable {
+        private final Reader reader;
+        private final int maxChars;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean overlong;
+
+        BoundedLineReader(Reader reader, int maxChars) {
+            this.reader = reader;
+            this.maxChars = maxChars;
+        }
+
+        // The next line without its terminator, or null at the end of the input.
+        // An overlong line is returned empty with isOverlong() set.
+        String readLine() throws IOException {
+            line.setLength(0);
+            overlong = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit < 0) {
+                        limit = 0;
+                        return read ? line() : null;
+                    }
+                    continue;
+                }
+                read = true;
+                char c = buffer[position++];
+                if (c == '\n') {
+                    return line();
+                }
+                if (overlong) {
+                    continue;
+                }
+                if (line.length() >= maxChars && c != '\r') {
+                    overlong = true;
+                    line.setLength(0);
+                    continue;
+                }
+                line.append(c);
+            }
+        }
+
+        boolean isOverlong() {
+            return overlong;
+        }
+
+        private String line() {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(length - 1);
+            }
+            return line.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    // Counters, the pending batch and the error report of one upload
+    private class ImportRun<D> {
+        private final Class<D> documentType;
+        private final Function<D, String> idOf;
+        private final Consumer<D> afterInsert;
+        private final List<D> batch = new ArrayList<>();
+        private final List<Long> batchLines = new ArrayList<>();
+        private final List<String> batchTitles = new ArrayList<>();
+        private final List<String> importedIds = new ArrayList<>();
+        private final List<ImportReportResponse.RecordError> errors = new ArrayList<>();
+        private int received;
+        private int imported;
+        private int failed;
+        private boolean errorsTruncated;
+
+        ImportRun(Class<D> documentType, Function<D, String> idOf, Consumer<D> afterInsert) {
+            this.documentType = documentType;
+            this.idOf = idOf;
+            this.afterInsert = afterInsert;
+        }
+
+        boolean isFull() {
+            return received >= maxRecords;
+        }
+
+        // Validates the request and only then builds its document, which assumes a valid request
+        void accept(long line, String title, Object request, Supplier<D> document) {
+            received++;
+            Set<ConstraintViolation<Object>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                failed++;
+                report(line, title, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            batch.add(document.get());
+            batchLines.add(line);
+            batchTitles.add(title);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String title, String message) {
+            received++;
+            failed++;
+            report(line, title, message);
+        }
+
+        ImportReportResponse finish() {
+            flush();
+            if (isFull()) {
+                report(0, null, "Import stopped after " + maxRecords + " records; split the upload to import more");
+            }
+            return ImportReportResponse.builder()
+                    .received(received)
+                    .imported(imported)
+                    .failed(failed)
+                    .importedIds(importedIds)
+                    .errors(errors)
+                    .errorsTruncated(errorsTruncated)
+                    .build();
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                Collection<D> saved = mongoTemplate.insert(batch, documentType);
+                for (D document : saved) {
+                    afterInsert.accept(document);
+                    importedIds.add(idOf.apply(document));
+                }
+                imported += saved.size();
+            } catch (RuntimeException e) {
+                log.warn("Import batch of {} {} failed: {}", batch.size(), documentType.getSimpleName(), e.getMessage());
+                failed += batch.size();
+                for (int i = 0; i < batch.size(); i++) {
+                    report(batchLines.get(i), batchTitles.get(i), "Could not be stored");
+                }
+            }
+            batch.clear();
+            batchLines.clear();
+            batchTitles.clear();
+        }
+
+        private void report(long line, String title, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(ImportReportResponse.RecordError.builder()
+                        .line(line)
+                        .title(title)
+                        .message(message)
+                        .build());
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.quizmaster.service;
+
+import com.quizmaster.model.EmailOutboxMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// Sends queued emails from the outbox. Each pass claims a batch of due messages, renders their
+// templates and hands the whole batch to JavaMail, which delivers it over one SMTP connection.
+// Failed messages are retried with exponential backoff until max-attempts, then marked FAILED.
+// Claims expire, so a batch held by a node that died is picked up again by the next pass.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailDispatcher {
+
+    private static final String MESSAGES = "quizmaster.email.messages";
+
+    private final MongoTemplate mongoTemplate;
+    private final JavaMailSender mailSender;
+    private final ITemplateEngine templateEngine;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${quizmaster.mail.dispatch-enabled:true}")
+    private boolean enabled;
+
+    @Value("${quizmaster.mail.from:no-reply@quizmaster.ai}")
+    private String from;
+
+    @Value("${quizmaster.mail.batch-size:50}")
+    private int batchSize;
+
+    @Value("${quizmaster.mail.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${quizmaster.mail.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${quizmaster.mail.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${quizmaster.mail.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds;
+
+    @Scheduled(fixedDelayString = "${quizmaster.mail.dispatch-interval-ms:1000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        // Keep going while batches come back full, so a backlog drains without waiting for the next tick
+        List<EmailOutboxMessage> batch;
+        do {
+            batch = claim();
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private List<EmailOutboxMessage> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        Criteria due = new Criteria().orOperator(
+                Criteria.where("status").is(EmailOutboxMessage.Status.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(EmailOutboxMessage.Status.SENDING).and("claimExpiresAt").lte(now));
+
+        Query candidates = new Query(due).with(Sort.by("nextAttemptAt")).limit(batchSize);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, EmailOutboxMessage.class).stream()
+                .map(EmailOutboxMessage::getId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Another node may claim some of the same candidates first; the due criteria keep that exclusive
+        String claim = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                new Query(new Criteria().andOperator(Criteria.where("_id").in(ids), due)),
+                new Update()
+                        .set("status", EmailOutboxMessage.Status.SENDING)
+                        .set("claimedBy", claim)
+                        .set("claimExpiresAt", now.plusSeconds(claimTimeoutSeconds)),
+                EmailOutboxMessage.class);
+        return mongoTemplate.find(
+                Query.query(Criteria.where("_id").in(ids).and("claimedBy").is(claim)),
+                EmailOutboxMessage.class);
+    }
+
+    private void send(List<EmailOutboxMessage> batch) {
+        Map<MimeMessage, EmailOutboxMessage> rendered = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : batch) {
+            try {
+                rendered.put(render(message), message);
+            } catch (Exception e) {
+                failed(message, e);
+            }
+        }
+        if (rendered.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        try {
+            mailSender.send(rendered.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // Lists exactly the messages that were not delivered; empty if only closing the connection failed
+            failures.putAll(e.getFailedMessages());
+        } catch (MailException e) {
+            for (MimeMessage mimeMessage : rendered.keySet()) {
+                failures.put(mimeMessage, e);
+            }
+        }
+
+        List<String> sent = new ArrayList<>();
+        for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : rendered.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                sent.add(entry.getValue().getId());
+            } else {
+                failed(entry.getValue(), failure);
+            }
+        }
+        if (!sent.isEmpty()) {
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(sent)),
+                    new Update()
+                            .set("status", EmailOutboxMessage.Status.SENT)
+                            .set("sentAt", LocalDateTime.now())
+                            .inc("attempts", 1)
+                            .unset("claimedBy")
+                            .unset("claimExpiresAt")
+                            .unset("lastError"),
+                    EmailOutboxMessage.class);
+            meterRegistry.counter(MESSAGES, "outcome", "sent").increment(sent.size());
+        }
+        if (!failures.isEmpty()) {
+            log.warn("Sent {} of {} emails, {} failed", sent.size(), batch.size(), batch.size() - sent.size());
+        }
+    }
+
+    private MimeMessage render(EmailOutboxMessage message) throws Exception {
+        Context context = new Context(Locale.ENGLISH, message.getVariables());
+        String html = templateEngine.process(message.getTemplate(), context);
+
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
+        helper.setFrom(from);
+        helper.setTo(message.getTo());
+        helper.setSubject(message.getSubject());
+        helper.setText(html, true);
+        return mimeMessage;
+    }
+
+    private void failed(EmailOutboxMessage message, Exception error) {
+        int attempts = message.getAttempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+        Update update = new Update()
+                .set("attempts", attempts)
+                .set("lastError", String.valueOf(error.getMessage()))
+                .unset("claimedBy")
+                .unset("claimExpiresAt");
+        if (exhausted) {
+            update.set("status", EmailOutboxMessage.Status.FAILED);
+            log.error("Giving up on email {} to {} after {} attempts: {}",
+                    message.getId(), message.getTo(), attempts, error.getMessage());
+        } else {
+            update.set("status", EmailOutboxMessage.Status.PENDING)
+                    .set("nextAttemptAt", LocalDateTime.now().plusSeconds(backoffSeconds(attempts)));
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(message.getId())), update, EmailOutboxMessage.class);
+        meterRegistry.counter(MESSAGES, "outcome", exhausted ? "failed" : "retry").increment();
+    }
+
+    // Doubles per attempt up to the cap, with jitter so messages failed by one outage do not retry in lockstep
+    private long backoffSeconds(int attempts) {
+        long delay = Math.min(maxBackoffSeconds, initialBackoffSeconds << Math.min(attempts - 1, 20));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+}
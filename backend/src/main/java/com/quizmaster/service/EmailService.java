@@ -1,21 +1,57 @@
 package com.quizmaster.service;
 
+import com.quizmaster.model.EmailOutboxMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// Queues emails in the outbox instead of talking to SMTP inside the request.
+// EmailDispatcher renders and sends them in the background.
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${quizmaster.mail.frontend-url:http://localhost:3000}")
+    private String frontendUrl;
+
     public void sendVerificationEmail(String email, String name, String token) {
-        // Implementation will be added when we have the actual SMTP configuration
-        System.out.println("Sending verification email to: " + email);
-        System.out.println("Token: " + token);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("verificationUrl", frontendUrl + "/verify-email?token=" + encode(token));
+        enqueue(email, "Verify your QuizMaster AI email address", "email/verification-email", variables);
     }
 
     public void sendResetPasswordEmail(String email, String name, String token) {
-        // Implementation will be added when we have the actual SMTP configuration
-        System.out.println("Sending reset password email to: " + email);
-        System.out.println("Token: " + token);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("resetUrl", frontendUrl + "/reset-password?token=" + encode(token));
+        enqueue(email, "Reset your QuizMaster AI password", "email/reset-password-email", variables);
+    }
+
+    private void enqueue(String to, String subject, String template, Map<String, Object> variables) {
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.insert(EmailOutboxMessage.builder()
+                .to(to)
+                .subject(subject)
+                .template(template)
+                .variables(variables)
+                .status(EmailOutboxMessage.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
     }
 }
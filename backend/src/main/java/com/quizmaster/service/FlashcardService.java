@@ -1,7 +1,13 @@
 package com.quizmaster.service;
 
+import com.quizmaster.cache.IdempotencyCache;
+import com.quizmaster.cache.ResponseBodyCache;
+import com.quizmaster.config.PayloadFormat;
 import com.quizmaster.dto.request.CreateFlashcardRequest;
+import com.quizmaster.dto.request.FlashcardProgressRequest;
 import com.quizmaster.dto.request.SubmitFlashcardStudyRequest;
+import com.quizmaster.dto.response.FacetedPageResponse;
+import com.quizmaster.dto.response.FlashcardProgressResponse;
 import com.quizmaster.dto.response.FlashcardResponse;
 import com.quizmaster.dto.response.FlashcardStudyResponse;
 import com.quizmaster.dto.response.MessageResponse;
@@ -9,10 +15,24 @@ import com.quizmaster.model.Flashcard;
 import com.quizmaster.model.FlashcardStudy;
 import com.quizmaster.repository.FlashcardRepository;
 import com.quizmaster.repository.FlashcardStudyRepository;
+import com.quizmaster.search.ContentSearchIndex;
+import com.quizmaster.search.FacetIndex;
+import com.quizmaster.search.SearchHits;
+import com.quizmaster.search.SuggestionIndex;
+import com.quizmaster.search.TagCatalog;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -24,12 +44,29 @@ public class FlashcardService {
 
     private final FlashcardRepository flashcardRepository;
     private final FlashcardStudyRepository flashcardStudyRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ResponseBodyCache responseBodyCache;
+    private final CatalogStreamWriter catalogStreamWriter;
+    private final ContentSearchIndex contentSearchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final TagCatalog tagCatalog;
+    private final SpacedRepetitionService spacedRepetitionService;
+    private final IdempotencyCache idempotencyCache;
 
     public FlashcardResponse createFlashcard(CreateFlashcardRequest request) {
         // Get current authenticated user
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
         
+        Flashcard savedFlashcard = flashcardRepository.save(buildFlashcard(request, username));
+        onFlashcardCreated(savedFlashcard);
+        
+        // Convert to response DTO
+        return mapFlashcardToResponse(savedFlashcard);
+    }
+    
+    // Converts a create request into a new flashcard document with fresh card ids
+    Flashcard buildFlashcard(CreateFlashcardRequest request, String username) {
         // Convert cards from DTO to model
         List<Flashcard.Card> cards = request.getCards().stream()
                 .map(cardDto -> Flashcard.Card.builder()
@@ -41,8 +78,7 @@ public class FlashcardService {
                         .build())
                 .collect(Collectors.toList());
         
-        // Create and save flashcard
-        Flashcard flashcard = Flashcard.builder()
+        return Flashcard.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .tags(request.getTags())
@@ -50,11 +86,13 @@ public class FlashcardService {
                 .isPublic(request.isPublic())
                 .cards(cards)
                 .build();
-        
-        Flashcard savedFlashcard = flashcardRepository.save(flashcard);
-        
-        // Convert to response DTO
-        return mapFlashcardToResponse(savedFlashcard);
+    }
+    
+    // Makes a newly stored flashcard set visible to the in-memory indexes
+    void onFlashcardCreated(Flashcard savedFlashcard) {
+        contentSearchIndex.indexFlashcard(savedFlashcard);
+        suggestionIndex.addFlashcard(savedFlashcard);
+        tagCatalog.addFlashcard(savedFlashcard);
     }
     
     public List<FlashcardResponse> getAllFlashcards() {
@@ -63,10 +101,8 @@ public class FlashcardService {
                 .collect(Collectors.toList());
     }
     
-    public List<FlashcardResponse> getPublicFlashcards() {
-        return flashcardRepository.findByIsPublic(true).stream()
-                .map(this::mapFlashcardToResponse)
-                .collect(Collectors.toList());
+    public StreamingResponseBody streamPublicFlashcards(CatalogStreamWriter.Encoding encoding) {
+        return catalogStreamWriter.write(flashcardRepository::streamByIsPublicTrue, this::mapFlashcardToResponse, encoding);
     }
     
     public List<FlashcardResponse> getMyFlashcards() {
@@ -78,16 +114,66 @@ public class FlashcardService {
                 .collect(Collectors.toList());
     }
     
-    public List<FlashcardResponse> getFlashcardsByTag(String tag) {
-        return flashcardRepository.findByTagsContaining(tag).stream()
+    public StreamingResponseBody streamFlashcardsByTag(String tag, CatalogStreamWriter.Encoding encoding) {
+        return catalogStreamWriter.write(() -> flashcardRepository.streamByTagsContaining(tag), this::mapFlashcardToResponse, encoding);
+    }
+    
+    public Page<FlashcardResponse> searchFlashcards(String keyword, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        
+        if (!contentSearchIndex.isReady()) {
+            // Index is still being built after startup, fall back to the title regex
+            List<Flashcard> matches = flashcardRepository.findByTitleContainingIgnoreCase(keyword);
+            List<FlashcardResponse> results = matches.stream()
+                    .skip(pageRequest.getOffset())
+                    .limit(size)
+                    .map(this::mapFlashcardToResponse)
+                    .collect(Collectors.toList());
+            return new PageImpl<>(results, pageRequest, matches.size());
+        }
+        
+        // getOffset() is a long; clamp it so a huge page number means "past the end" rather than wrapping
+        int offset = (int) Math.min(pageRequest.getOffset(), Integer.MAX_VALUE);
+        SearchHits hits = contentSearchIndex.searchFlashcards(keyword, offset, size);
+        
+        // Load the page in one query and restore the ranking order
+        Map<String, Flashcard> flashcardsById = new HashMap<>();
+        flashcardRepository.findAllById(hits.getIds()).forEach(flashcard -> flashcardsById.put(flashcard.getId(), flashcard));
+        
+        List<FlashcardResponse> results = hits.getIds().stream()
+                .map(flashcardsById::get)
+                .filter(Objects::nonNull)
                 .map(this::mapFlashcardToResponse)
                 .collect(Collectors.toList());
+        
+        return new PageImpl<>(results, pageRequest, hits.getTotalHits());
     }
     
-    public List<FlashcardResponse> searchFlashcards(String keyword) {
-        return flashcardRepository.findByTitleContainingIgnoreCase(keyword).stream()
+    public FacetedPageResponse<FlashcardResponse> browseFlashcards(List<String> tags, String createdBy, int page, int size) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        
+        // In long and clamped, page * size can overflow an int for huge page numbers
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        FacetIndex.FacetResult result = tagCatalog.browseFlashcards(tags, createdBy, username, offset, size);
+        
+        // Load the page in one query and keep the catalog's ordering
+        Map<String, Flashcard> flashcardsById = new HashMap<>();
+        flashcardRepository.findAllById(result.getIds()).forEach(flashcard -> flashcardsById.put(flashcard.getId(), flashcard));
+        
+        List<FlashcardResponse> results = result.getIds().stream()
+                .map(flashcardsById::get)
+                .filter(Objects::nonNull)
                 .map(this::mapFlashcardToResponse)
                 .collect(Collectors.toList());
+        
+        return FacetedPageResponse.<FlashcardResponse>builder()
+                .content(results)
+                .page(page)
+                .size(size)
+                .totalElements(result.getTotal())
+                .facets(result.getFacets())
+                .build();
     }
     
     public FlashcardResponse getFlashcardById(String id) {
@@ -97,6 +183,14 @@ public class FlashcardService {
         return mapFlashcardToResponse(flashcard);
     }
     
+    public ResponseBodyCache.SerializedBody getSerializedFlashcardById(String id, PayloadFormat format) {
+        Flashcard flashcard = flashcardRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Flashcard not found"));
+        
+        return responseBodyCache.get("flashcard", flashcard.getId(), flashcard.getUpdatedAt(), format,
+                () -> mapFlashcardToResponse(flashcard));
+    }
+    
     public FlashcardStudyResponse startFlashcardStudy(String flashcardId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
@@ -116,14 +210,20 @@ public class FlashcardService {
                 .build();
         
         FlashcardStudy savedStudy = flashcardStudyRepository.save(flashcardStudy);
+        suggestionIndex.recordFlashcardStudy(flashcardId);
         
         return mapFlashcardStudyToResponse(savedStudy, flashcard.getTitle());
     }
     
-    public FlashcardStudyResponse submitFlashcardStudy(String studyId, SubmitFlashcardStudyRequest request) {
+    public FlashcardStudyResponse submitFlashcardStudy(String studyId, SubmitFlashcardStudyRequest request, String idempotencyKey) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
         
+        return idempotencyCache.execute(username, "flashcard-submit:" + studyId, idempotencyKey,
+                () -> submitFlashcardStudy(username, studyId, request));
+    }
+    
+    private FlashcardStudyResponse submitFlashcardStudy(String username, String studyId, SubmitFlashcardStudyRequest request) {
         FlashcardStudy flashcardStudy = flashcardStudyRepository.findById(studyId)
                 .orElseThrow(() -> new RuntimeException("Flashcard study not found"));
         
@@ -132,34 +232,114 @@ public class FlashcardService {
             throw new RuntimeException("Unauthorized access to flashcard study");
         }
         
-        // Verify that the study is not already completed
+        Flashcard flashcard = flashcardRepository.findById(flashcardStudy.getFlashcardId())
+                .orElseThrow(() -> new RuntimeException("Flashcard not found"));
+        
+        // A repeated submit is answered with the stored result
         if (flashcardStudy.isCompleted()) {
-            throw new RuntimeException("Flashcard study already completed");
+            return mapFlashcardStudyToResponse(flashcardStudy, flashcard.getTitle());
         }
         
-        Flashcard flashcard = flashcardRepository.findById(flashcardStudy.getFlashcardId())
-                .orElseThrow(() -> new RuntimeException("Flashcard not found"));
+        StudyScorer.Result result = StudyScorer.score(flashcardStudy.getCardResults(), request.getCardResults(),
+                cardIds(flashcard), flashcardStudy.getTotalCards());
+        if (result.getCardResults().isEmpty()) {
+            throw new RuntimeException("Card results are required");
+        }
+        Map<String, Boolean> cardResults = result.getCardResults();
         
-        // Calculate study results
-        int cardsStudied = request.getCardResults().size();
-        int cardsRemembered = (int) request.getCardResults().values().stream()
-                .filter(remembered -> remembered)
-                .count();
-        int cardsToReview = flashcardStudy.getTotalCards() - cardsRemembered;
+        // Complete the study only if no concurrent submit got there first
+        LocalDateTime completedAt = LocalDateTime.now();
+        Query query = new Query(Criteria.where("_id").is(studyId).and("completed").is(false));
+        Update update = new Update()
+                .set("cardResults", cardResults)
+                .set("cardsStudied", result.getCardsStudied())
+                .set("cardsRemembered", result.getCardsRemembered())
+                .set("cardsToReview", result.getCardsToReview())
+                .set("timeSpent", Math.max(request.getTimeSpent(), flashcardStudy.getTimeSpent()))
+                .set("completed", true)
+                .set("completedAt", completedAt)
+                .set("updatedAt", completedAt);
+        FlashcardStudy savedStudy = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), FlashcardStudy.class);
         
-        // Update flashcard study
-        flashcardStudy.setCardsStudied(cardsStudied);
-        flashcardStudy.setCardsRemembered(cardsRemembered);
-        flashcardStudy.setCardsToReview(cardsToReview);
-        flashcardStudy.setTimeSpent(request.getTimeSpent());
-        flashcardStudy.setCompleted(true);
-        flashcardStudy.setCompletedAt(LocalDateTime.now());
+        if (savedStudy == null) {
+            // Lost the race: return what the winner stored
+            FlashcardStudy completedStudy = flashcardStudyRepository.findById(studyId)
+                    .orElseThrow(() -> new RuntimeException("Flashcard study not found"));
+            return mapFlashcardStudyToResponse(completedStudy, flashcard.getTitle());
+        }
         
-        FlashcardStudy savedStudy = flashcardStudyRepository.save(flashcardStudy);
+        spacedRepetitionService.recordReviews(username, flashcard, cardResults, savedStudy.getCompletedAt());
         
         return mapFlashcardStudyToResponse(savedStudy, flashcard.getTitle());
     }
     
+    public FlashcardProgressResponse recordStudyProgress(String studyId, FlashcardProgressRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        
+        FlashcardStudy study = flashcardStudyRepository.findById(studyId)
+                .orElseThrow(() -> new RuntimeException("Flashcard study not found"));
+        if (!study.getUserId().equals(username)) {
+            throw new RuntimeException("Unauthorized access to flashcard study");
+        }
+        
+        // Card ids become field names in the update, so reject anything Mongo would interpret,
+        // and only cards of this set may be recorded, or the counts would stop adding up
+        Set<String> cardIds = cardIds(study.getFlashcardId());
+        for (Map.Entry<String, Boolean> result : request.getCardResults().entrySet()) {
+            String cardId = result.getKey();
+            if (cardId.isEmpty() || cardId.contains(".") || cardId.startsWith("$") || !cardIds.contains(cardId)) {
+                throw new RuntimeException("Invalid card id: " + cardId);
+            }
+            if (result.getValue() == null) {
+                throw new RuntimeException("Missing result for card: " + cardId);
+            }
+        }
+        
+        // Applied only if the study is open, owned by the caller and the batch is newer than the last one,
+        // so retries and out-of-order deliveries are no-ops
+        Query query = new Query(Criteria.where("_id").is(studyId)
+                .and("userId").is(username)
+                .and("completed").is(false)
+                .and("lastSeq").not().gte(request.getSeq()));
+        Update update = new Update()
+                .set("lastSeq", request.getSeq())
+                .inc("timeSpent", request.getTimeSpentDelta())
+                .set("updatedAt", LocalDateTime.now());
+        request.getCardResults().forEach((cardId, remembered) -> update.set("cardResults." + cardId, remembered));
+        
+        FlashcardStudy updated = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), FlashcardStudy.class);
+        
+        if (updated == null) {
+            FlashcardStudy current = flashcardStudyRepository.findById(studyId)
+                    .orElseThrow(() -> new RuntimeException("Flashcard study not found"));
+            if (current.isCompleted()) {
+                throw new RuntimeException("Flashcard study already completed");
+            }
+            // Stale or duplicate sequence number: acknowledge with the current server state
+            return mapFlashcardProgressToResponse(current, false, false);
+        }
+        
+        return mapFlashcardProgressToResponse(updated, true, false);
+    }
+    
+    public FlashcardProgressResponse getStudyProgress(String studyId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        
+        FlashcardStudy study = flashcardStudyRepository.findById(studyId)
+                .orElseThrow(() -> new RuntimeException("Flashcard study not found"));
+        
+        // Verify that the study belongs to the current user
+        if (!study.getUserId().equals(username)) {
+            throw new RuntimeException("Unauthorized access to flashcard study");
+        }
+        
+        return mapFlashcardProgressToResponse(study, false, true);
+    }
+    
     public List<FlashcardStudyResponse> getMyFlashcardStudies() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
@@ -211,23 +391,17 @@ public class FlashcardService {
         // Delete all studies for this flashcard
         List<FlashcardStudy> studies = flashcardStudyRepository.findByFlashcardId(flashcardId);
         flashcardStudyRepository.deleteAll(studies);
+        spacedRepetitionService.deleteReviewStates(flashcardId);
         
         // Delete the flashcard
         flashcardRepository.delete(flashcard);
+        contentSearchIndex.removeFlashcard(flashcardId);
+        suggestionIndex.removeFlashcard(flashcard);
+        tagCatalog.removeFlashcard(flashcardId);
     }
     
     // Helper methods to map entities to DTOs
     private FlashcardResponse mapFlashcardToResponse(Flashcard flashcard) {
-        List<FlashcardResponse.CardDto> cardDtos = flashcard.getCards().stream()
-                .map(card -> FlashcardResponse.CardDto.builder()
-                        .id(card.getId())
-                        .front(card.getFront())
-                        .back(card.getBack())
-                        .imageUrl(card.getImageUrl())
-                        .position(card.getPosition())
-                        .build())
-                .collect(Collectors.toList());
-        
         return FlashcardResponse.builder()
                 .id(flashcard.getId())
                 .title(flashcard.getTitle())
@@ -235,12 +409,51 @@ public class FlashcardService {
                 .tags(flashcard.getTags())
                 .createdBy(flashcard.getCreatedBy())
                 .isPublic(flashcard.isPublic())
-                .cards(cardDtos)
+                .cards(flashcard.getCards())
                 .createdAt(flashcard.getCreatedAt())
                 .updatedAt(flashcard.getUpdatedAt())
                 .build();
     }
     
+    private static Set<String> cardIds(Flashcard flashcard) {
+        if (flashcard.getCards() == null) {
+            return Collections.emptySet();
+        }
+        return flashcard.getCards().stream()
+                .map(Flashcard.Card::getId)
+                .collect(Collectors.toSet());
+    }
+    
+    // Only the card ids, for validating progress batches without loading the card contents
+    private Set<String> cardIds(String flashcardId) {
+        Query query = new Query(Criteria.where("_id").is(flashcardId));
+        query.fields().include("cards.id");
+        Flashcard flashcard = mongoTemplate.findOne(query, Flashcard.class);
+        if (flashcard == null) {
+            throw new RuntimeException("Flashcard not found");
+        }
+        return cardIds(flashcard);
+    }
+    
+    private FlashcardProgressResponse mapFlashcardProgressToResponse(FlashcardStudy study, boolean applied, boolean includeResults) {
+        Map<String, Boolean> cardResults = study.getCardResults() != null ? study.getCardResults() : Collections.emptyMap();
+        int cardsRemembered = (int) cardResults.values().stream()
+                .filter(Boolean.TRUE::equals)
+                .count();
+        
+        return FlashcardProgressResponse.builder()
+                .studyId(study.getId())
+                .lastSeq(study.getLastSeq())
+                .applied(applied)
+                .totalCards(study.getTotalCards())
+                .cardsStudied(cardResults.size())
+                .cardsRemembered(cardsRemembered)
+                .timeSpent(study.getTimeSpent())
+                .completed(study.isCompleted())
+                .cardResults(includeResults ? cardResults : null)
+                .build();
+    }
+    
     private FlashcardStudyResponse mapFlashcardStudyToResponse(FlashcardStudy study, String flashcardTitle) {
         return FlashcardStudyResponse.builder()
                 .id(study.getId())
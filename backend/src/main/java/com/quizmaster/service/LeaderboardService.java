@@ -0,0 +1,269 @@
+package com.quizmaster.service;
+
+import com.quizmaster.dto.response.LeaderboardEntryResponse;
+import com.quizmaster.dto.response.LeaderboardResponse;
+import com.quizmaster.leaderboard.LeaderboardEntry;
+import com.quizmaster.leaderboard.QuizLeaderboard;
+import com.quizmaster.model.LeaderboardSnapshot;
+import com.quizmaster.model.QuizAttempt;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// Per-quiz leaderboards held in memory and fed by submitted attempts.
+// Every node keeps its own boards; attempts completed on other nodes are picked up by a periodic sync
+// from quiz_attempts, so all nodes converge on the same ranks within one sync interval.
+// On startup boards are restored from the shared snapshots and the attempts completed since are replayed;
+// changed boards are merged back into the snapshots periodically.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    // Replay slightly before the watermark to cover attempts saved while a snapshot pass was starting
+    private static final long REPLAY_OVERLAP_SECONDS = 60;
+
+    // Sync slightly before the last pass to cover updates committed out of order or with clock skew
+    private static final long SYNC_OVERLAP_SECONDS = 10;
+
+    private static final int SNAPSHOT_WRITE_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, QuizLeaderboard> boards = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // Per quiz snapshot; larger boards keep their top entries and are replayed from attempts on startup
+    @Value("${quizmaster.leaderboard.snapshot-max-entries:50000}")
+    private int snapshotMaxEntries;
+
+    // Every attempt completed before this is on the boards
+    private volatile LocalDateTime syncedUpTo;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime passStart = LocalDateTime.now();
+        LocalDateTime watermark = null;
+        List<String> truncated = new ArrayList<>();
+
+        try (Stream<LeaderboardSnapshot> snapshots = mongoTemplate.stream(new Query(), LeaderboardSnapshot.class)) {
+            for (LeaderboardSnapshot snapshot : (Iterable<LeaderboardSnapshot>) snapshots::iterator) {
+                if (LeaderboardSnapshot.WATERMARK_ID.equals(snapshot.getQuizId())) {
+                    watermark = snapshot.getSnapshotAt();
+                    continue;
+                }
+                QuizLeaderboard board = board(snapshot.getQuizId());
+                if (snapshot.isTruncated()) {
+                    truncated.add(snapshot.getQuizId());
+                }
+                if (snapshot.getEntries() != null) {
+                    snapshot.getEntries().forEach(board::offer);
+                }
+                // Already persisted as loaded
+                board.snapshot();
+            }
+        }
+
+        long replayed = replay(watermark != null ? watermark.minusSeconds(REPLAY_OVERLAP_SECONDS) : null);
+        if (!truncated.isEmpty()) {
+            // Entries below the stored top are only in the attempts
+            replayed += replay(Criteria.where("completed").is(true).and("quizId").in(truncated));
+        }
+        syncedUpTo = passStart;
+
+        ready = true;
+        log.info("Leaderboards rebuilt for {} quizzes ({} attempts replayed) in {} ms",
+                boards.size(), replayed, System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${quizmaster.leaderboard.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime since = syncedUpTo;
+        if (!ready || since == null) {
+            return;
+        }
+        LocalDateTime passStart = LocalDateTime.now();
+        replay(since.minusSeconds(SYNC_OVERLAP_SECONDS));
+        syncedUpTo = passStart;
+    }
+
+    @Scheduled(fixedDelayString = "${quizmaster.leaderboard.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime covered = syncedUpTo;
+        int written = 0;
+        boolean complete = true;
+        for (Map.Entry<String, QuizLeaderboard> entry : boards.entrySet()) {
+            QuizLeaderboard board = entry.getValue();
+            if (!board.isDirty()) {
+                continue;
+            }
+            if (writeSnapshot(entry.getKey(), board)) {
+                written++;
+            } else {
+                complete = false;
+            }
+        }
+        // Once every board of this node is in the snapshots, attempts before its sync point need no replay.
+        // Snapshots only ever gain entries, so the watermark may only move forward ($max).
+        if (written > 0 && complete) {
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(LeaderboardSnapshot.WATERMARK_ID)),
+                    new Update().max("snapshotAt", covered), LeaderboardSnapshot.class);
+            log.debug("Snapshotted {} leaderboards", written);
+        }
+    }
+
+    // Merges the stored entries into the board and writes the result back if nobody wrote in between
+    private boolean writeSnapshot(String quizId, QuizLeaderboard board) {
+        for (int attempt = 0; attempt < SNAPSHOT_WRITE_ATTEMPTS; attempt++) {
+            LeaderboardSnapshot stored = mongoTemplate.findById(quizId, LeaderboardSnapshot.class);
+            if (stored != null && stored.getEntries() != null) {
+                stored.getEntries().forEach(board::offer);
+            }
+            List<LeaderboardEntry> entries = board.snapshot(snapshotMaxEntries);
+            boolean truncated = board.size() > entries.size();
+            LocalDateTime now = LocalDateTime.now();
+
+            if (stored == null) {
+                try {
+                    mongoTemplate.insert(LeaderboardSnapshot.builder()
+                            .quizId(quizId)
+                            .entries(entries)
+                            .snapshotAt(now)
+                            .revision(1)
+                            .truncated(truncated)
+                            .build());
+                    return true;
+                } catch (DuplicateKeyException e) {
+                    // Another node created it first
+                    board.markDirty();
+                    continue;
+                }
+            }
+
+            long revision = stored.getRevision();
+            // $not $gt 0 also matches documents that have no revision yet
+            Criteria sameRevision = revision > 0
+                    ? Criteria.where("revision").is(revision)
+                    : Criteria.where("revision").not().gt(0);
+            UpdateResult result = mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(quizId).andOperator(sameRevision)),
+                    new Update()
+                            .set("entries", entries)
+                            .set("snapshotAt", now)
+                            .set("revision", revision + 1)
+                            .set("truncated", truncated),
+                    LeaderboardSnapshot.class);
+            if (result.getMatchedCount() > 0) {
+                return true;
+            }
+            board.markDirty();
+        }
+        log.warn("Leaderboard snapshot for quiz {} kept conflicting, retrying next pass", quizId);
+        return false;
+    }
+
+    // Offers every attempt completed (last updated) since the given time, or all of them
+    private long replay(LocalDateTime since) {
+        Criteria criteria = Criteria.where("completed").is(true);
+        if (since != null) {
+            criteria = criteria.and("updatedAt").gte(since);
+        }
+        return replay(criteria);
+    }
+
+    private long replay(Criteria criteria) {
+        Query attemptQuery = new Query(criteria);
+        attemptQuery.fields().include("userId", "quizId", "score", "timeSpent", "completed", "completedAt");
+        long replayed = 0;
+        try (Stream<QuizAttempt> attempts = mongoTemplate.stream(attemptQuery, QuizAttempt.class)) {
+            for (QuizAttempt attempt : (Iterable<QuizAttempt>) attempts::iterator) {
+                recordAttempt(attempt);
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    public void recordAttempt(QuizAttempt attempt) {
+        if (!attempt.isCompleted()) {
+            return;
+        }
+        board(attempt.getQuizId()).offer(LeaderboardEntry.builder()
+                .userId(attempt.getUserId())
+                .score(attempt.getScore())
+                .timeSpent(attempt.getTimeSpent())
+                .achievedAt(attempt.getCompletedAt())
+                .build());
+    }
+
+    public void removeQuiz(String quizId) {
+        boards.remove(quizId);
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(quizId)), LeaderboardSnapshot.class);
+    }
+
+    public LeaderboardResponse getLeaderboard(String quizId, int offset, int limit) {
+        QuizLeaderboard board = boards.get(quizId);
+        List<LeaderboardEntryResponse> entries = new ArrayList<>();
+        if (board == null) {
+            return LeaderboardResponse.builder().quizId(quizId).participants(0).entries(entries).build();
+        }
+
+        int rank = offset + 1;
+        for (LeaderboardEntry entry : board.range(offset, limit)) {
+            entries.add(mapEntryToResponse(entry, rank++));
+        }
+        return LeaderboardResponse.builder()
+                .quizId(quizId)
+                .participants(board.size())
+                .entries(entries)
+                .build();
+    }
+
+    public LeaderboardEntryResponse getMyRank(String quizId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+
+        QuizLeaderboard board = boards.get(quizId);
+        LeaderboardEntry entry = board != null ? board.entryOf(username) : null;
+        if (entry == null) {
+            throw new RuntimeException("No completed attempt on this quiz");
+        }
+        return mapEntryToResponse(entry, board.rankOf(username));
+    }
+
+    private QuizLeaderboard board(String quizId) {
+        return boards.computeIfAbsent(quizId, id -> new QuizLeaderboard());
+    }
+
+    private static LeaderboardEntryResponse mapEntryToResponse(LeaderboardEntry entry, int rank) {
+        return LeaderboardEntryResponse.builder()
+                .rank(rank)
+                .username(entry.getUserId())
+                .score(entry.getScore())
+                .timeSpent(entry.getTimeSpent())
+                .achievedAt(entry.getAchievedAt())
+                .build();
+    }
+}
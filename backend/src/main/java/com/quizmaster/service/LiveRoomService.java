@@ -0,0 +1,276 @@
+package com.quizmaster.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizmaster.cache.QuizCache;
+import com.quizmaster.dto.response.LiveRoomResponse;
+import com.quizmaster.live.LiveRoom;
+import com.quizmaster.model.Quiz;
+import com.quizmaster.model.QuizAttempt;
+import com.quizmaster.repository.QuizAttemptRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Live quiz rooms: the host drives the quiz over a WebSocket, participants answer in real time.
+// Every event is serialized once and the same frame is sent to every socket; answer tallies
+// are coalesced and pushed on a short tick instead of once per answer. Only final results are persisted.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveRoomService {
+
+    public static final String SOCKET_PATH = "/live/ws";
+
+    private static final String CODE_ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final int CODE_LENGTH = 6;
+    private static final int STANDINGS_SIZE = 10;
+
+    private final QuizCache quizCache;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final LeaderboardService leaderboardService;
+    private final ObjectMapper objectMapper;
+    private final Map<String, LiveRoom> rooms = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${quizmaster.live.room-idle-minutes:120}")
+    private long roomIdleMinutes;
+
+    public LiveRoomResponse createRoom(String quizId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        
+        Quiz quiz = quizCache.get(quizId)
+                .map(QuizCache.CachedQuiz::getQuiz)
+                .orElseThrow(() -> new RuntimeException("Quiz not found"));
+        
+        // Hosts can run their own quizzes or public ones
+        if (!quiz.isPublic() && !quiz.getCreatedBy().equals(username)) {
+            throw new RuntimeException("Unauthorized access to quiz");
+        }
+        if (quiz.getQuestions() == null || quiz.getQuestions().isEmpty()) {
+            throw new RuntimeException("Quiz has no questions");
+        }
+        
+        LiveRoom room;
+        do {
+            room = new LiveRoom(generateCode(), quiz, username);
+        } while (rooms.putIfAbsent(room.getCode(), room) != null);
+        
+        return mapRoomToResponse(room);
+    }
+    
+    public LiveRoomResponse getRoom(String code) {
+        return mapRoomToResponse(findRoom(code)
+                .orElseThrow(() -> new RuntimeException("Live room not found")));
+    }
+    
+    public Optional<LiveRoom> findRoom(String code) {
+        return Optional.ofNullable(code != null ? rooms.get(code.toUpperCase()) : null);
+    }
+    
+    public void join(LiveRoom room, WebSocketSession session, String username) {
+        room.addSession(session, username);
+        send(session, serialize(room.stateFrame()));
+        if (room.getPhase() == LiveRoom.Phase.QUESTION) {
+            send(session, serialize(room.questionFrame()));
+        }
+    }
+    
+    public void leave(LiveRoom room, WebSocketSession session) {
+        room.removeSession(session);
+    }
+    
+    public void handleMessage(LiveRoom room, WebSocketSession session, String username, String payload) {
+        JsonNode message;
+        try {
+            message = objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            sendError(session, "Malformed message");
+            return;
+        }
+        String type = message.path("type").asText();
+        
+        if ("answer".equals(type)) {
+            List<String> optionIds = new ArrayList<>();
+            message.path("optionIds").forEach(node -> optionIds.add(node.asText()));
+            if (!room.answer(username, message.path("questionId").asText(), optionIds)) {
+                sendError(session, "Answer not accepted");
+            }
+            return;
+        }
+        
+        if (!room.isHost(username)) {
+            sendError(session, "Only the host can control the room");
+            return;
+        }
+        switch (type) {
+            case "next" -> {
+                if (room.nextQuestion()) {
+                    broadcast(room, room.questionFrame());
+                } else {
+                    finish(room);
+                }
+            }
+            case "reveal" -> {
+                if (room.reveal()) {
+                    broadcast(room, room.revealFrame());
+                }
+            }
+            case "finish" -> finish(room);
+            default -> sendError(session, "Unknown message type");
+        }
+    }
+    
+    // Pushes the current answer counts of rooms that received answers since the last tick
+    @Scheduled(fixedDelayString = "${quizmaster.live.tally-interval-ms:500}")
+    public void broadcastTallies() {
+        for (LiveRoom room : rooms.values()) {
+            if (room.getPhase() == LiveRoom.Phase.QUESTION && room.consumeTallyChange()) {
+                broadcast(room, room.tallyFrame());
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelay = 60000)
+    public void closeIdleRooms() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(roomIdleMinutes);
+        for (LiveRoom room : rooms.values()) {
+            if (room.getLastActivityAt().isBefore(cutoff)) {
+                rooms.remove(room.getCode());
+                closeAll(room, CloseStatus.GOING_AWAY);
+            }
+        }
+    }
+    
+    private void finish(LiveRoom room) {
+        if (!room.finish()) {
+            return;
+        }
+        rooms.remove(room.getCode());
+        
+        // Grade everyone in memory and persist all attempts in one batch
+        Quiz quiz = room.getQuiz();
+        LocalDateTime completedAt = LocalDateTime.now();
+        List<QuizAttempt> attempts = new ArrayList<>();
+        for (LiveRoom.Participant participant : room.getParticipants()) {
+            QuizGrader.Result result = QuizGrader.grade(quiz, participant.getAnswers());
+            attempts.add(QuizAttempt.builder()
+                    .userId(participant.getUsername())
+                    .quizId(quiz.getId())
+                    .score(result.getScore())
+                    .totalQuestions(quiz.getQuestions().size())
+                    .correctAnswers(result.getCorrectAnswers())
+                    .wrongAnswers(result.getWrongAnswers())
+                    .unanswered(result.getUnanswered())
+                    .questionOutcomes(result.getOutcomes())
+                    .timeSpent((int) (participant.getAnswerMillis() / 1000))
+                    .completed(true)
+                    .startedAt(participant.getJoinedAt())
+                    .completedAt(completedAt)
+                    .build());
+        }
+        List<QuizAttempt> savedAttempts = attempts.isEmpty() ? attempts : quizAttemptRepository.saveAll(attempts);
+        savedAttempts.forEach(leaderboardService::recordAttempt);
+        
+        savedAttempts.sort(Comparator.comparingInt(QuizAttempt::getScore).reversed()
+                .thenComparingInt(QuizAttempt::getTimeSpent));
+        List<Map<String, Object>> standings = new ArrayList<>();
+        for (int i = 0; i < Math.min(STANDINGS_SIZE, savedAttempts.size()); i++) {
+            QuizAttempt attempt = savedAttempts.get(i);
+            Map<String, Object> standing = new LinkedHashMap<>();
+            standing.put("rank", i + 1);
+            standing.put("username", attempt.getUserId());
+            standing.put("score", attempt.getScore());
+            standing.put("timeSpent", attempt.getTimeSpent());
+            standings.add(standing);
+        }
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "results");
+        frame.put("participants", savedAttempts.size());
+        frame.put("standings", standings);
+        broadcast(room, frame);
+        
+        log.info("Live room {} finished with {} participants", room.getCode(), savedAttempts.size());
+        closeAll(room, CloseStatus.NORMAL);
+    }
+    
+    private void broadcast(LiveRoom room, Map<String, Object> frame) {
+        TextMessage message = serialize(frame);
+        for (WebSocketSession session : room.getSessions()) {
+            send(session, message);
+        }
+    }
+    
+    private void send(WebSocketSession session, TextMessage message) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            // The session decorator closes sockets that fall too far behind
+            log.debug("Dropping live frame for session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+    
+    private void sendError(WebSocketSession session, String error) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "error");
+        frame.put("message", error);
+        send(session, serialize(frame));
+    }
+    
+    private void closeAll(LiveRoom room, CloseStatus status) {
+        for (WebSocketSession session : room.getSessions()) {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                log.debug("Failed to close live session {}", session.getId());
+            }
+        }
+    }
+    
+    private TextMessage serialize(Map<String, Object> frame) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(frame));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize live frame", e);
+        }
+    }
+    
+    private String generateCode() {
+        StringBuilder code = new StringBuilder(CODE_LENGTH);
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            code.append(CODE_ALPHABET.charAt(random.nextInt(CODE_ALPHABET.length())));
+        }
+        return code.toString();
+    }
+    
+    private LiveRoomResponse mapRoomToResponse(LiveRoom room) {
+        return LiveRoomResponse.builder()
+                .code(room.getCode())
+                .quizId(room.getQuiz().getId())
+                .quizTitle(room.getQuiz().getTitle())
+                .hostUsername(room.getHostUsername())
+                .phase(room.getPhase().name())
+                .participants(room.getParticipantCount())
+                .socketPath(SOCKET_PATH)
+                .createdAt(room.getCreatedAt())
+                .build();
+    }
+}
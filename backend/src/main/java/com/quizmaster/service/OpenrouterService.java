@@ -12,9 +12,11 @@ import com.quizmaster.dto.response.ChatMessageResponse;
 import com.quizmaster.dto.response.ChatSessionResponse;
 import com.quizmaster.dto.response.FlashcardResponse;
 import com.quizmaster.dto.response.QuizResponse;
+import com.quizmaster.metrics.LlmMetrics;
 import com.quizmaster.model.ChatSession;
 import com.quizmaster.model.Quiz;
 import com.quizmaster.repository.ChatSessionRepository;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -33,14 +35,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OpenrouterService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RestTemplate openrouterRestTemplate;
+    private final ObjectMapper objectMapper;
     private final ChatSessionRepository chatSessionRepository;
     private final QuizService quizService;
     private final FlashcardService flashcardService;
-
-    @Value("${openrouter.api.key}")
-    private String apiKey;
+    private final LlmMetrics llmMetrics;
 
     @Value("${openrouter.api.url}")
     private String apiUrl;
@@ -346,8 +346,6 @@ public class OpenrouterService {
     private String callOpenrouterApi(List<Map<String, String>> messages, String model) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("Authorization", "Bearer " + apiKey);
-        headers.set("HTTP-Referer", "https://quizmaster.ai");
 
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("model", model);
@@ -357,11 +355,14 @@ public class OpenrouterService {
 
         HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
 
+        Timer.Sample sample = llmMetrics.start();
         try {
-            String response = restTemplate.postForObject(apiUrl, request, String.class);
+            String response = openrouterRestTemplate.postForObject(apiUrl, request, String.class);
             JsonNode responseJson = objectMapper.readTree(response);
+            llmMetrics.success(sample, model, responseJson);
             return responseJson.path("choices").path(0).path("message").path("content").asText();
         } catch (Exception e) {
+            llmMetrics.failure(sample, model, e);
             throw new RuntimeException("Failed to call Openrouter API: " + e.getMessage(), e);
         }
     }
@@ -425,20 +426,10 @@ public class OpenrouterService {
     }
 
     private ChatSessionResponse mapToChatSessionResponse(ChatSession chatSession) {
-        List<ChatMessageResponse> messageResponses = chatSession.getMessages().stream()
-                .map(message -> ChatMessageResponse.builder()
-                        .id(message.getId())
-                        .content(message.getContent())
-                        .role(message.getRole())
-                        .model(message.getModel())
-                        .timestamp(message.getTimestamp())
-                        .build())
-                .collect(Collectors.toList());
-
         return ChatSessionResponse.builder()
                 .id(chatSession.getId())
                 .title(chatSession.getTitle())
-                .messages(messageResponses)
+                .messages(chatSession.getMessages())
                 .createdAt(chatSession.getCreatedAt())
                 .updatedAt(chatSession.getUpdatedAt())
                 .build();
@@ -0,0 +1,128 @@
+package com.quizmaster.service;
+
+import com.quizmaster.cache.QuizCache;
+import com.quizmaster.dto.response.QuizAnalyticsResponse;
+import com.quizmaster.model.Quiz;
+import com.quizmaster.model.QuizQuestionStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Per-question statistics for quiz authors. Each submitted attempt is folded into a single
+// stats document per quiz with one upsert, so reading analytics never scans attempts.
+@Service
+@RequiredArgsConstructor
+public class QuizAnalyticsService {
+
+    private final MongoTemplate mongoTemplate;
+    private final QuizCache quizCache;
+
+    // Question times are client input; each is capped at the server-measured time of the whole attempt
+    public void recordAttempt(Quiz quiz, Map<String, List<String>> answers, Map<String, Integer> questionTimes,
+                              int timeSpent, byte[] outcomes) {
+        Update update = new Update()
+                .inc("attempts", 1)
+                .set("updatedAt", LocalDateTime.now());
+        
+        List<Quiz.Question> questions = quiz.getQuestions();
+        for (int ordinal = 0; ordinal < questions.size(); ordinal++) {
+            Quiz.Question question = questions.get(ordinal);
+            String path = "questions." + question.getId() + ".";
+            
+            switch (QuizGrader.outcome(outcomes, ordinal)) {
+                case QuizGrader.OUTCOME_CORRECT -> update.inc(path + "correct", 1);
+                case QuizGrader.OUTCOME_WRONG -> update.inc(path + "wrong", 1);
+                default -> update.inc(path + "unanswered", 1);
+            }
+            
+            // Only count options that belong to the question, answers are client input
+            List<String> selected = answers != null ? answers.get(question.getId()) : null;
+            if (selected != null) {
+                for (Quiz.Question.Option option : question.getOptions()) {
+                    if (selected.contains(option.getId())) {
+                        update.inc(path + "optionPicks." + option.getId(), 1);
+                    }
+                }
+            }
+            
+            Integer seconds = questionTimes != null ? questionTimes.get(question.getId()) : null;
+            if (seconds != null && seconds >= 0) {
+                update.inc(path + "timedAnswers", 1);
+                update.inc(path + "totalTimeSeconds", Math.min(seconds, Math.max(0, timeSpent)));
+            }
+        }
+        
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(quiz.getId())), update, QuizQuestionStats.class);
+    }
+    
+    public QuizAnalyticsResponse getQuizAnalytics(String quizId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        
+        Quiz quiz = quizCache.get(quizId)
+                .map(QuizCache.CachedQuiz::getQuiz)
+                .orElseThrow(() -> new RuntimeException("Quiz not found"));
+        
+        // Verify that the quiz belongs to the current user
+        if (!quiz.getCreatedBy().equals(username)) {
+            throw new RuntimeException("Unauthorized access to quiz");
+        }
+        
+        QuizQuestionStats stats = mongoTemplate.findById(quizId, QuizQuestionStats.class);
+        long attempts = stats != null ? stats.getAttempts() : 0;
+        Map<String, QuizQuestionStats.QuestionStats> questionStats =
+                stats != null && stats.getQuestions() != null ? stats.getQuestions() : Collections.emptyMap();
+        
+        List<QuizAnalyticsResponse.QuestionAnalyticsDto> questionDtos = new ArrayList<>();
+        List<Quiz.Question> questions = quiz.getQuestions();
+        for (int ordinal = 0; ordinal < questions.size(); ordinal++) {
+            Quiz.Question question = questions.get(ordinal);
+            QuizQuestionStats.QuestionStats totals = questionStats.getOrDefault(question.getId(), new QuizQuestionStats.QuestionStats());
+            Map<String, Long> picks = totals.getOptionPicks() != null ? totals.getOptionPicks() : Collections.emptyMap();
+            
+            List<QuizAnalyticsResponse.OptionPickDto> optionDtos = new ArrayList<>();
+            for (Quiz.Question.Option option : question.getOptions()) {
+                optionDtos.add(QuizAnalyticsResponse.OptionPickDto.builder()
+                        .optionId(option.getId())
+                        .text(option.getText())
+                        .correct(option.isCorrect())
+                        .picks(picks.getOrDefault(option.getId(), 0L))
+                        .build());
+            }
+            
+            questionDtos.add(QuizAnalyticsResponse.QuestionAnalyticsDto.builder()
+                    .questionId(question.getId())
+                    .ordinal(ordinal)
+                    .text(question.getText())
+                    .correct(totals.getCorrect())
+                    .wrong(totals.getWrong())
+                    .unanswered(totals.getUnanswered())
+                    .correctRate(attempts > 0 ? (double) totals.getCorrect() / attempts : 0)
+                    .averageTimeSeconds(totals.getTimedAnswers() > 0
+                            ? (double) totals.getTotalTimeSeconds() / totals.getTimedAnswers()
+                            : null)
+                    .options(optionDtos)
+                    .build());
+        }
+        
+        return QuizAnalyticsResponse.builder()
+                .quizId(quiz.getId())
+                .quizTitle(quiz.getTitle())
+                .attempts(attempts)
+                .questions(questionDtos)
+                .updatedAt(stats != null ? stats.getUpdatedAt() : null)
+                .build();
+    }
+    
+    public void deleteStats(String quizId) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(quizId)), QuizQuestionStats.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.quizmaster.service;
+
+import com.quizmaster.model.Quiz;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Scores a set of answers against a quiz and records the outcome of every question
+// as two bits per question ordinal (see OUTCOME_* constants).
+public final class QuizGrader {
+
+    public static final int OUTCOME_UNANSWERED = 0;
+    public static final int OUTCOME_CORRECT = 1;
+    public static final int OUTCOME_WRONG = 2;
+
+    private QuizGrader() {
+    }
+
+    public static Result grade(Quiz quiz, Map<String, List<String>> userAnswers) {
+        List<Quiz.Question> questions = quiz.getQuestions();
+        byte[] outcomes = new byte[(questions.size() + 3) / 4];
+        int correctAnswers = 0;
+        int wrongAnswers = 0;
+        int unanswered = 0;
+        
+        for (int ordinal = 0; ordinal < questions.size(); ordinal++) {
+            Quiz.Question question = questions.get(ordinal);
+            List<String> selectedOptionIds = userAnswers != null ? userAnswers.get(question.getId()) : null;
+            
+            int outcome;
+            if (selectedOptionIds == null || selectedOptionIds.isEmpty()) {
+                outcome = OUTCOME_UNANSWERED;
+                unanswered++;
+            } else if (isCorrect(question, selectedOptionIds)) {
+                outcome = OUTCOME_CORRECT;
+                correctAnswers++;
+            } else {
+                outcome = OUTCOME_WRONG;
+                wrongAnswers++;
+            }
+            outcomes[ordinal / 4] |= (byte) (outcome << ((ordinal % 4) * 2));
+        }
+        
+        // Calculate score (percentage)
+        int totalQuestions = questions.size();
+        int score = totalQuestions > 0 ? (correctAnswers * 100) / totalQuestions : 0;
+        
+        return new Result(score, correctAnswers, wrongAnswers, unanswered, outcomes);
+    }
+
+    public static int outcome(byte[] outcomes, int ordinal) {
+        return (outcomes[ordinal / 4] >> ((ordinal % 4) * 2)) & 0b11;
+    }
+
+    private static boolean isCorrect(Quiz.Question question, List<String> selectedOptionIds) {
+        // For single choice and true/false questions
+        if (question.getType() == Quiz.Question.QuestionType.SINGLE_CHOICE ||
+            question.getType() == Quiz.Question.QuestionType.TRUE_FALSE) {
+            
+            if (selectedOptionIds.size() > 1) {
+                return false;
+            }
+            
+            String selectedOptionId = selectedOptionIds.get(0);
+            return question.getOptions().stream()
+                    .filter(option -> option.getId().equals(selectedOptionId))
+                    .findFirst()
+                    .map(Quiz.Question.Option::isCorrect)
+                    .orElse(false);
+        }
+        
+        // For multiple choice questions the selection must match the correct options exactly
+        Set<String> correctOptionIds = question.getOptions().stream()
+                .filter(Quiz.Question.Option::isCorrect)
+                .map(Quiz.Question.Option::getId)
+                .collect(Collectors.toSet());
+        return correctOptionIds.equals(new HashSet<>(selectedOptionIds));
+    }
+
+    public static class Result {
+        private final int score;
+        private final int correctAnswers;
+        private final int wrongAnswers;
+        private final int unanswered;
+        private final byte[] outcomes;
+
+        Result(int score, int correctAnswers, int wrongAnswers, int unanswered, byte[] outcomes) {
+            this.score = score;
+            this.correctAnswers = correctAnswers;
+            this.wrongAnswers = wrongAnswers;
+            this.unanswered = unanswered;
+            this.outcomes = outcomes;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getCorrectAnswers() {
+            return correctAnswers;
+        }
+
+        public int getWrongAnswers() {
+            return wrongAnswers;
+        }
+
+        public int getUnanswered() {
+            return unanswered;
+        }
+
+        public byte[] getOutcomes() {
+            return outcomes;
+        }
+    }
+}
@@ -1,18 +1,39 @@
 package com.quizmaster.service;
 
+import com.quizmaster.cache.IdempotencyCache;
+import com.quizmaster.cache.QuizCache;
+import com.quizmaster.cache.ResponseBodyCache;
+import com.quizmaster.config.PayloadFormat;
 import com.quizmaster.dto.request.CreateQuizRequest;
+import com.quizmaster.dto.request.SaveAnswersRequest;
 import com.quizmaster.dto.request.SubmitQuizRequest;
+import com.quizmaster.dto.response.FacetedPageResponse;
 import com.quizmaster.dto.response.QuizAttemptResponse;
 import com.quizmaster.dto.response.QuizResponse;
 import com.quizmaster.model.Quiz;
 import com.quizmaster.model.QuizAttempt;
 import com.quizmaster.repository.QuizAttemptRepository;
 import com.quizmaster.repository.QuizRepository;
+import com.quizmaster.search.ContentSearchIndex;
+import com.quizmaster.search.FacetIndex;
+import com.quizmaster.search.SearchHits;
+import com.quizmaster.search.SuggestionIndex;
+import com.quizmaster.search.TagCatalog;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -23,12 +44,33 @@ public class QuizService {
 
     private final QuizRepository quizRepository;
     private final QuizAttemptRepository quizAttemptRepository;
+    private final QuizCache quizCache;
+    private final ResponseBodyCache responseBodyCache;
+    private final CatalogStreamWriter catalogStreamWriter;
+    private final ContentSearchIndex contentSearchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final TagCatalog tagCatalog;
+    private final QuizAnalyticsService quizAnalyticsService;
+    private final LeaderboardService leaderboardService;
+    private final AttemptTimerService attemptTimerService;
+    private final AnswerAutosaveService answerAutosaveService;
+    private final IdempotencyCache idempotencyCache;
+    private final MongoTemplate mongoTemplate;
 
     public QuizResponse createQuiz(CreateQuizRequest request) {
         // Get current authenticated user
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
         
+        Quiz savedQuiz = quizRepository.save(buildQuiz(request, username));
+        onQuizCreated(savedQuiz);
+        
+        // Convert to response DTO
+        return mapQuizToResponse(savedQuiz);
+    }
+    
+    // Converts a create request into a new quiz document with fresh question and option ids
+    Quiz buildQuiz(CreateQuizRequest request, String username) {
         // Convert questions and options from DTO to model
         List<Quiz.Question> questions = request.getQuestions().stream()
                 .map(questionDto -> {
@@ -51,8 +93,7 @@ public class QuizService {
                 })
                 .collect(Collectors.toList());
         
-        // Create and save quiz
-        Quiz quiz = Quiz.builder()
+        return Quiz.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .tags(request.getTags())
@@ -61,11 +102,14 @@ public class QuizService {
                 .timeLimit(request.getTimeLimit())
                 .questions(questions)
                 .build();
-        
-        Quiz savedQuiz = quizRepository.save(quiz);
-        
-        // Convert to response DTO
-        return mapQuizToResponse(savedQuiz);
+    }
+    
+    // Makes a newly stored quiz visible to the cache and the in-memory indexes
+    void onQuizCreated(Quiz savedQuiz) {
+        quizCache.put(savedQuiz);
+        contentSearchIndex.indexQuiz(savedQuiz);
+        suggestionIndex.addQuiz(savedQuiz);
+        tagCatalog.addQuiz(savedQuiz);
     }
     
     public List<QuizResponse> getAllQuizzes() {
@@ -74,10 +118,8 @@ public class QuizService {
                 .collect(Collectors.toList());
     }
     
-    public List<QuizResponse> getPublicQuizzes() {
-        return quizRepository.findByIsPublic(true).stream()
-                .map(this::mapQuizToResponse)
-                .collect(Collectors.toList());
+    public StreamingResponseBody streamPublicQuizzes(CatalogStreamWriter.Encoding encoding) {
+        return catalogStreamWriter.write(quizRepository::streamByIsPublicTrue, this::mapQuizToResponse, encoding);
     }
     
     public List<QuizResponse> getMyQuizzes() {
@@ -89,32 +131,93 @@ public class QuizService {
                 .collect(Collectors.toList());
     }
     
-    public List<QuizResponse> getQuizzesByTag(String tag) {
-        return quizRepository.findByTagsContaining(tag).stream()
+    public StreamingResponseBody streamQuizzesByTag(String tag, CatalogStreamWriter.Encoding encoding) {
+        return catalogStreamWriter.write(() -> quizRepository.streamByTagsContaining(tag), this::mapQuizToResponse, encoding);
+    }
+    
+    public Page<QuizResponse> searchQuizzes(String keyword, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        
+        if (!contentSearchIndex.isReady()) {
+            // Index is still being built after startup, fall back to the title regex
+            List<Quiz> matches = quizRepository.findByTitleContainingIgnoreCase(keyword);
+            List<QuizResponse> results = matches.stream()
+                    .skip(pageRequest.getOffset())
+                    .limit(size)
+                    .map(this::mapQuizToResponse)
+                    .collect(Collectors.toList());
+            return new PageImpl<>(results, pageRequest, matches.size());
+        }
+        
+        // getOffset() is a long; clamp it so a huge page number means "past the end" rather than wrapping
+        int offset = (int) Math.min(pageRequest.getOffset(), Integer.MAX_VALUE);
+        SearchHits hits = contentSearchIndex.searchQuizzes(keyword, offset, size);
+        
+        // Load the page in one query and restore the ranking order
+        Map<String, Quiz> quizzesById = new HashMap<>();
+        quizRepository.findAllById(hits.getIds()).forEach(quiz -> quizzesById.put(quiz.getId(), quiz));
+        
+        List<QuizResponse> results = hits.getIds().stream()
+                .map(quizzesById::get)
+                .filter(Objects::nonNull)
                 .map(this::mapQuizToResponse)
                 .collect(Collectors.toList());
+        
+        return new PageImpl<>(results, pageRequest, hits.getTotalHits());
     }
     
-    public List<QuizResponse> searchQuizzes(String keyword) {
-        return quizRepository.findByTitleContainingIgnoreCase(keyword).stream()
+    public FacetedPageResponse<QuizResponse> browseQuizzes(List<String> tags, String createdBy, int page, int size) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        
+        // In long and clamped, page * size can overflow an int for huge page numbers
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        FacetIndex.FacetResult result = tagCatalog.browseQuizzes(tags, createdBy, username, offset, size);
+        
+        // Load the page in one query and keep the catalog's ordering
+        Map<String, Quiz> quizzesById = new HashMap<>();
+        quizRepository.findAllById(result.getIds()).forEach(quiz -> quizzesById.put(quiz.getId(), quiz));
+        
+        List<QuizResponse> results = result.getIds().stream()
+                .map(quizzesById::get)
+                .filter(Objects::nonNull)
                 .map(this::mapQuizToResponse)
                 .collect(Collectors.toList());
+        
+        return FacetedPageResponse.<QuizResponse>builder()
+                .content(results)
+                .page(page)
+                .size(size)
+                .totalElements(result.getTotal())
+                .facets(result.getFacets())
+                .build();
     }
     
     public QuizResponse getQuizById(String id) {
-        Quiz quiz = quizRepository.findById(id)
+        QuizCache.CachedQuiz cachedQuiz = quizCache.get(id)
+                .orElseThrow(() -> new RuntimeException("Quiz not found"));
+        
+        return cachedQuiz.getResponse(this::mapQuizToResponse);
+    }
+    
+    public ResponseBodyCache.SerializedBody getSerializedQuizById(String id, PayloadFormat format) {
+        QuizCache.CachedQuiz cachedQuiz = quizCache.get(id)
                 .orElseThrow(() -> new RuntimeException("Quiz not found"));
+        Quiz quiz = cachedQuiz.getQuiz();
         
-        return mapQuizToResponse(quiz);
+        return responseBodyCache.get("quiz", quiz.getId(), quiz.getUpdatedAt(), format,
+                () -> cachedQuiz.getResponse(this::mapQuizToResponse));
     }
     
     public QuizAttemptResponse startQuiz(String quizId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
         
-        Quiz quiz = quizRepository.findById(quizId)
+        Quiz quiz = quizCache.get(quizId)
+                .map(QuizCache.CachedQuiz::getQuiz)
                 .orElseThrow(() -> new RuntimeException("Quiz not found"));
         
+        LocalDateTime startedAt = LocalDateTime.now();
         QuizAttempt quizAttempt = QuizAttempt.builder()
                 .userId(username)
                 .quizId(quizId)
@@ -125,18 +228,26 @@ public class QuizService {
                 .unanswered(quiz.getQuestions().size())
                 .timeSpent(0)
                 .completed(false)
-                .startedAt(LocalDateTime.now())
+                .startedAt(startedAt)
+                .deadline(attemptTimerService.deadlineFor(quiz, startedAt))
                 .build();
         
         QuizAttempt savedAttempt = quizAttemptRepository.save(quizAttempt);
+        attemptTimerService.track(savedAttempt.getId(), savedAttempt.getDeadline());
+        suggestionIndex.recordQuizAttempt(quizId);
         
         return mapQuizAttemptToResponse(savedAttempt, quiz.getTitle());
     }
     
-    public QuizAttemptResponse submitQuiz(String attemptId, SubmitQuizRequest request) {
+    public QuizAttemptResponse submitQuiz(String attemptId, SubmitQuizRequest request, String idempotencyKey) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
         
+        return idempotencyCache.execute(username, "quiz-submit:" + attemptId, idempotencyKey,
+                () -> submitQuiz(username, attemptId, request));
+    }
+    
+    private QuizAttemptResponse submitQuiz(String username, String attemptId, SubmitQuizRequest request) {
         QuizAttempt quizAttempt = quizAttemptRepository.findById(attemptId)
                 .orElseThrow(() -> new RuntimeException("Quiz attempt not found"));
         
@@ -145,91 +256,81 @@ public class QuizService {
             throw new RuntimeException("Unauthorized access to quiz attempt");
         }
         
-        // Verify that the attempt is not already completed
+        // A repeated submit is answered with the stored result
         if (quizAttempt.isCompleted()) {
-            throw new RuntimeException("Quiz attempt already completed");
+            return mapQuizAttemptToResponse(quizAttempt, quizTitle(quizAttempt.getQuizId()));
+        }
+        
+        // Verify that the time limit has not run out; the timer finalizes the attempt from its saved answers
+        if (attemptTimerService.isExpired(quizAttempt)) {
+            throw new RuntimeException("Time limit exceeded");
         }
         
-        Quiz quiz = quizRepository.findById(quizAttempt.getQuizId())
+        Quiz quiz = quizCache.get(quizAttempt.getQuizId())
+                .map(QuizCache.CachedQuiz::getQuiz)
                 .orElseThrow(() -> new RuntimeException("Quiz not found"));
+        if (request.getAnswers() != null) {
+            AnswerAutosaveService.checkQuestionIds(request.getAnswers(), quiz.getQuestions().stream()
+                    .map(Quiz.Question::getId)
+                    .collect(Collectors.toSet()));
+        }
         
-        // Calculate score
-        int correctAnswers = 0;
-        int wrongAnswers = 0;
-        int unanswered = 0;
-        
-        Map<String, List<String>> userAnswers = request.getAnswers();
-        
-        for (Quiz.Question question : quiz.getQuestions()) {
-            String questionId = question.getId();
-            
-            if (!userAnswers.containsKey(questionId) || userAnswers.get(questionId).isEmpty()) {
-                unanswered++;
-                continue;
-            }
-            
-            List<String> selectedOptionIds = userAnswers.get(questionId);
-            
-            // For single choice and true/false questions
-            if (question.getType() == Quiz.Question.QuestionType.SINGLE_CHOICE || 
-                question.getType() == Quiz.Question.QuestionType.TRUE_FALSE) {
-                
-                if (selectedOptionIds.size() > 1) {
-                    wrongAnswers++;
-                    continue;
-                }
-                
-                String selectedOptionId = selectedOptionIds.get(0);
-                boolean isCorrect = question.getOptions().stream()
-                        .filter(option -> option.getId().equals(selectedOptionId))
-                        .findFirst()
-                        .map(Quiz.Question.Option::isCorrect)
-                        .orElse(false);
-                
-                if (isCorrect) {
-                    correctAnswers++;
-                } else {
-                    wrongAnswers++;
-                }
-            } 
-            // For multiple choice questions
-            else if (question.getType() == Quiz.Question.QuestionType.MULTIPLE_CHOICE) {
-                // Get all correct option IDs
-                Set<String> correctOptionIds = question.getOptions().stream()
-                        .filter(Quiz.Question.Option::isCorrect)
-                        .map(Quiz.Question.Option::getId)
-                        .collect(Collectors.toSet());
-                
-                // Get all selected option IDs
-                Set<String> selectedOptionIdsSet = new HashSet<>(selectedOptionIds);
-                
-                // Check if selected options match exactly with correct options
-                if (correctOptionIds.equals(selectedOptionIdsSet)) {
-                    correctAnswers++;
+        // Answers sent with the submit override the autosaved ones
+        Map<String, List<String>> answers = new HashMap<>();
+        Optional<Map<String, List<String>>> autosaved = answerAutosaveService.close(attemptId);
+        if (autosaved.isPresent()) {
+            answers.putAll(autosaved.get());
+        } else if (quizAttempt.getAnswers() != null) {
+            answers.putAll(quizAttempt.getAnswers());
+        }
+        if (request.getAnswers() != null) {
+            request.getAnswers().forEach((questionId, optionIds) -> {
+                if (optionIds == null || optionIds.isEmpty()) {
+                    answers.remove(questionId);
                 } else {
-                    wrongAnswers++;
+                    answers.put(questionId, List.copyOf(optionIds));
                 }
-            }
+            });
         }
         
-        // Calculate score (percentage)
-        int totalQuestions = quiz.getQuestions().size();
-        int score = totalQuestions > 0 ? (correctAnswers * 100) / totalQuestions : 0;
-        
-        // Update quiz attempt
-        quizAttempt.setScore(score);
-        quizAttempt.setCorrectAnswers(correctAnswers);
-        quizAttempt.setWrongAnswers(wrongAnswers);
-        quizAttempt.setUnanswered(unanswered);
-        quizAttempt.setTimeSpent(request.getTimeSpent());
-        quizAttempt.setCompleted(true);
-        quizAttempt.setCompletedAt(LocalDateTime.now());
+        QuizGrader.Result result = QuizGrader.grade(quiz, answers);
+        LocalDateTime completedAt = LocalDateTime.now();
+        
+        // Complete the attempt only if nothing else did since it was read (a concurrent submit or the timer)
+        Query query = new Query(Criteria.where("_id").is(attemptId).and("completed").is(false));
+        Update update = new Update()
+                .set("score", result.getScore())
+                .set("correctAnswers", result.getCorrectAnswers())
+                .set("wrongAnswers", result.getWrongAnswers())
+                .set("unanswered", result.getUnanswered())
+                .set("questionOutcomes", result.getOutcomes())
+                .set("answers", answers)
+                .set("timeSpent", measuredTimeSpent(quizAttempt, completedAt))
+                .set("completed", true)
+                .set("completedAt", completedAt)
+                .set("updatedAt", completedAt);
+        QuizAttempt savedAttempt = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), QuizAttempt.class);
+        
+        if (savedAttempt == null) {
+            // Lost the race: return what the winner stored
+            QuizAttempt completedAttempt = quizAttemptRepository.findById(attemptId)
+                    .orElseThrow(() -> new RuntimeException("Quiz attempt not found"));
+            return mapQuizAttemptToResponse(completedAttempt, quiz.getTitle());
+        }
         
-        QuizAttempt savedAttempt = quizAttemptRepository.save(quizAttempt);
+        attemptTimerService.untrack(attemptId);
+        quizAnalyticsService.recordAttempt(quiz, answers, request.getQuestionTimes(), savedAttempt.getTimeSpent(),
+                result.getOutcomes());
+        leaderboardService.recordAttempt(savedAttempt);
         
         return mapQuizAttemptToResponse(savedAttempt, quiz.getTitle());
     }
     
+    public void saveAnswers(String attemptId, SaveAnswersRequest request) {
+        answerAutosaveService.saveAnswers(attemptId, request.getAnswers());
+    }
+    
     public List<QuizAttemptResponse> getMyQuizAttempts() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
@@ -238,8 +339,8 @@ public class QuizService {
         
         return attempts.stream()
                 .map(attempt -> {
-                    String quizTitle = quizRepository.findById(attempt.getQuizId())
-                            .map(Quiz::getTitle)
+                    String quizTitle = quizCache.get(attempt.getQuizId())
+                            .map(cachedQuiz -> cachedQuiz.getQuiz().getTitle())
                             .orElse("Unknown Quiz");
                     
                     return mapQuizAttemptToResponse(attempt, quizTitle);
@@ -259,8 +360,8 @@ public class QuizService {
             throw new RuntimeException("Unauthorized access to quiz attempt");
         }
         
-        String quizTitle = quizRepository.findById(attempt.getQuizId())
-                .map(Quiz::getTitle)
+        String quizTitle = quizCache.get(attempt.getQuizId())
+                .map(cachedQuiz -> cachedQuiz.getQuiz().getTitle())
                 .orElse("Unknown Quiz");
         
         return mapQuizAttemptToResponse(attempt, quizTitle);
@@ -281,34 +382,34 @@ public class QuizService {
         // Delete all attempts for this quiz
         List<QuizAttempt> attempts = quizAttemptRepository.findByQuizId(quizId);
         quizAttemptRepository.deleteAll(attempts);
+        quizAnalyticsService.deleteStats(quizId);
+        leaderboardService.removeQuiz(quizId);
         
         // Delete the quiz
         quizRepository.delete(quiz);
+        quizCache.invalidate(quizId);
+        contentSearchIndex.removeQuiz(quizId);
+        suggestionIndex.removeQuiz(quiz);
+        tagCatalog.removeQuiz(quizId);
+    }
+    
+    private String quizTitle(String quizId) {
+        return quizCache.get(quizId)
+                .map(cachedQuiz -> cachedQuiz.getQuiz().getTitle())
+                .orElse("Unknown Quiz");
+    }
+    
+    // Time spent is measured on the server and capped at the time limit; the client's figure is not trusted
+    private int measuredTimeSpent(QuizAttempt attempt, LocalDateTime completedAt) {
+        LocalDateTime end = attempt.getDeadline() != null && completedAt.isAfter(attempt.getDeadline())
+                ? attempt.getDeadline()
+                : completedAt;
+        return (int) Math.max(0, Duration.between(attempt.getStartedAt(), end).getSeconds());
     }
     
     // Helper methods to map entities to DTOs
+    // The questions are shared with the document rather than copied; the Public view hides the answers
     private QuizResponse mapQuizToResponse(Quiz quiz) {
-        List<QuizResponse.QuestionDto> questionDtos = quiz.getQuestions().stream()
-                .map(question -> {
-                    List<QuizResponse.QuestionDto.OptionDto> optionDtos = question.getOptions().stream()
-                            .map(option -> QuizResponse.QuestionDto.OptionDto.builder()
-                                    .id(option.getId())
-                                    .text(option.getText())
-                                    // isCorrect field is omitted in response to prevent cheating
-                                    .build())
-                            .collect(Collectors.toList());
-                    
-                    return QuizResponse.QuestionDto.builder()
-                            .id(question.getId())
-                            .text(question.getText())
-                            .imageUrl(question.getImageUrl())
-                            .type(question.getType())
-                            .options(optionDtos)
-                            .explanation(question.getExplanation())
-                            .build();
-                })
-                .collect(Collectors.toList());
-        
         return QuizResponse.builder()
                 .id(quiz.getId())
                 .title(quiz.getTitle())
@@ -317,7 +418,7 @@ public class QuizService {
                 .createdBy(quiz.getCreatedBy())
                 .isPublic(quiz.isPublic())
                 .timeLimit(quiz.getTimeLimit())
-                .questions(questionDtos)
+                .questions(quiz.getQuestions())
                 .createdAt(quiz.getCreatedAt())
                 .updatedAt(quiz.getUpdatedAt())
                 .build();
@@ -335,7 +436,9 @@ public class QuizService {
                 .unanswered(attempt.getUnanswered())
                 .timeSpent(attempt.getTimeSpent())
                 .completed(attempt.isCompleted())
+                .autoSubmitted(attempt.isAutoSubmitted())
                 .startedAt(attempt.getStartedAt())
+                .deadline(attempt.getDeadline())
                 .completedAt(attempt.getCompletedAt())
                 .build();
     }
@@ -0,0 +1,53 @@
+package com.quizmaster.service;
+
+import com.quizmaster.dto.response.SuggestionResponse;
+import com.quizmaster.dto.response.TagCountResponse;
+import com.quizmaster.search.SuggestionIndex;
+import com.quizmaster.search.TagCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private final SuggestionIndex suggestionIndex;
+    private final TagCatalog tagCatalog;
+
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        return suggestionIndex.suggest(prefix, limit).stream()
+                .map(entry -> SuggestionResponse.builder()
+                        .text(entry.getText())
+                        .type(entry.getType())
+                        .id(entry.getRefId())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    public List<TagCountResponse> getTagCatalog(int limit) {
+        Map<String, Long> quizCounts = tagCatalog.publicQuizTagCounts();
+        Map<String, Long> flashcardCounts = tagCatalog.publicFlashcardTagCounts();
+        
+        Set<String> tags = new HashSet<>(quizCounts.keySet());
+        tags.addAll(flashcardCounts.keySet());
+        
+        return tags.stream()
+                .map(tag -> TagCountResponse.builder()
+                        .tag(tag)
+                        .quizCount(quizCounts.getOrDefault(tag, 0L))
+                        .flashcardCount(flashcardCounts.getOrDefault(tag, 0L))
+                        .build())
+                .sorted(Comparator.comparingLong((TagCountResponse tag) -> tag.getQuizCount() + tag.getFlashcardCount())
+                        .reversed()
+                        .thenComparing(TagCountResponse::getTag))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,193 @@
+package com.quizmaster.service;
+
+import com.quizmaster.dto.response.DueCardResponse;
+import com.quizmaster.dto.response.DueCardsResponse;
+import com.quizmaster.model.CardReviewState;
+import com.quizmaster.model.Flashcard;
+import com.quizmaster.repository.CardReviewStateRepository;
+import com.quizmaster.repository.FlashcardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// SM-2 scheduling of individual cards per user.
+// Study submissions only report remembered/forgotten, which are graded as quality 4 and 2.
+@Service
+@RequiredArgsConstructor
+public class SpacedRepetitionService {
+
+    private static final double INITIAL_EASE = 2.5;
+    private static final double MIN_EASE = 1.3;
+    private static final int QUALITY_REMEMBERED = 4;
+    private static final int QUALITY_FORGOTTEN = 2;
+
+    private final MongoTemplate mongoTemplate;
+    private final CardReviewStateRepository cardReviewStateRepository;
+    private final FlashcardRepository flashcardRepository;
+
+    // Reschedules every reviewed card of one set with a single read and a single unordered bulk write
+    public void recordReviews(String userId, Flashcard flashcard, Map<String, Boolean> cardResults, LocalDateTime reviewedAt) {
+        Set<String> cardIds = flashcard.getCards().stream()
+                .map(Flashcard.Card::getId)
+                .filter(cardResults::containsKey)
+                .collect(Collectors.toSet());
+        if (cardIds.isEmpty()) {
+            return;
+        }
+        
+        Map<String, CardReviewState> existing = cardReviewStateRepository
+                .findByUserIdAndFlashcardIdAndCardIdIn(userId, flashcard.getId(), cardIds).stream()
+                .collect(Collectors.toMap(CardReviewState::getCardId, Function.identity()));
+        
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CardReviewState.class);
+        for (String cardId : cardIds) {
+            CardReviewState state = existing.getOrDefault(cardId, CardReviewState.builder()
+                    .easeFactor(INITIAL_EASE)
+                    .build());
+            schedule(state, Boolean.TRUE.equals(cardResults.get(cardId)), reviewedAt);
+            
+            Query query = new Query(Criteria.where("userId").is(userId)
+                    .and("flashcardId").is(flashcard.getId())
+                    .and("cardId").is(cardId));
+            Update update = new Update()
+                    .set("easeFactor", state.getEaseFactor())
+                    .set("intervalDays", state.getIntervalDays())
+                    .set("repetitions", state.getRepetitions())
+                    .set("lapses", state.getLapses())
+                    .set("dueAt", state.getDueAt())
+                    .set("lastReviewedAt", reviewedAt);
+            bulk.upsert(query, update);
+        }
+        bulk.execute();
+    }
+    
+    // Cards due now across all sets, oldest due first. Pages are keyset-based on (dueAt, _id)
+    // so each page is an index range scan of its own size regardless of how deep the caller is.
+    public DueCardsResponse getDueCards(String cursor, int limit) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        
+        Criteria criteria = Criteria.where("userId").is(username).and("dueAt").lte(LocalDateTime.now());
+        if (cursor != null && !cursor.isBlank()) {
+            DueCursor after = DueCursor.parse(cursor);
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where("dueAt").gt(after.dueAt),
+                    Criteria.where("dueAt").is(after.dueAt).and("_id").gt(after.id)
+            ));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "dueAt").and(Sort.by(Sort.Direction.ASC, "_id")))
+                .limit(limit + 1);
+        List<CardReviewState> states = mongoTemplate.find(query, CardReviewState.class);
+        
+        boolean hasMore = states.size() > limit;
+        if (hasMore) {
+            states = states.subList(0, limit);
+        }
+        
+        // One lookup for the sets referenced on this page
+        Set<String> flashcardIds = states.stream().map(CardReviewState::getFlashcardId).collect(Collectors.toSet());
+        Map<String, Flashcard> flashcardsById = new HashMap<>();
+        flashcardRepository.findAllById(flashcardIds).forEach(flashcard -> flashcardsById.put(flashcard.getId(), flashcard));
+        
+        List<DueCardResponse> cards = new ArrayList<>();
+        for (CardReviewState state : states) {
+            Flashcard flashcard = flashcardsById.get(state.getFlashcardId());
+            if (flashcard == null || flashcard.getCards() == null) {
+                continue;
+            }
+            flashcard.getCards().stream()
+                    .filter(card -> card.getId().equals(state.getCardId()))
+                    .findFirst()
+                    .ifPresent(card -> cards.add(DueCardResponse.builder()
+                            .flashcardId(flashcard.getId())
+                            .flashcardTitle(flashcard.getTitle())
+                            .cardId(card.getId())
+                            .front(card.getFront())
+                            .back(card.getBack())
+                            .imageUrl(card.getImageUrl())
+                            .dueAt(state.getDueAt())
+                            .intervalDays(state.getIntervalDays())
+                            .easeFactor(state.getEaseFactor())
+                            .lapses(state.getLapses())
+                            .build()));
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            CardReviewState last = states.get(states.size() - 1);
+            nextCursor = new DueCursor(last.getDueAt(), last.getId()).format();
+        }
+        
+        return DueCardsResponse.builder()
+                .cards(cards)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
+    public void deleteReviewStates(String flashcardId) {
+        cardReviewStateRepository.deleteByFlashcardId(flashcardId);
+    }
+    
+    static void schedule(CardReviewState state, boolean remembered, LocalDateTime reviewedAt) {
+        int quality = remembered ? QUALITY_REMEMBERED : QUALITY_FORGOTTEN;
+        
+        if (quality >= 3) {
+            if (state.getRepetitions() == 0) {
+                state.setIntervalDays(1);
+            } else if (state.getRepetitions() == 1) {
+                state.setIntervalDays(6);
+            } else {
+                state.setIntervalDays((int) Math.round(state.getIntervalDays() * state.getEaseFactor()));
+            }
+            state.setRepetitions(state.getRepetitions() + 1);
+        } else {
+            state.setRepetitions(0);
+            state.setIntervalDays(1);
+            state.setLapses(state.getLapses() + 1);
+        }
+        
+        double ease = state.getEaseFactor() + (0.1 - (5 - quality) * (0.08 + (5 - quality) * 0.02));
+        state.setEaseFactor(Math.max(MIN_EASE, ease));
+        state.setDueAt(reviewedAt.plusDays(state.getIntervalDays()));
+    }
+    
+    private static class DueCursor {
+        private final LocalDateTime dueAt;
+        private final String id;
+        
+        DueCursor(LocalDateTime dueAt, String id) {
+            this.dueAt = dueAt;
+            this.id = id;
+        }
+        
+        String format() {
+            return dueAt + "_" + id;
+        }
+        
+        static DueCursor parse(String cursor) {
+            int separator = cursor.lastIndexOf('_');
+            if (separator < 0) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            try {
+                return new DueCursor(LocalDateTime.parse(cursor.substring(0, separator)), cursor.substring(separator + 1));
+            } catch (DateTimeParseException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+    }
+}
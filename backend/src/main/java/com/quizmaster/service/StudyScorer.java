@@ -0,0 +1,71 @@
+package com.quizmaster.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Combines the card results of a flashcard study (synced progress plus those sent with the submit)
+// and counts what was studied, remembered and left to review.
+public final class StudyScorer {
+
+    private StudyScorer() {
+    }
+
+    // Only ids of cards in the set are counted; anything else a client sent is dropped
+    public static Result score(Map<String, Boolean> storedResults, Map<String, Boolean> submittedResults,
+                               Set<String> cardIds, int totalCards) {
+        // Results sent with the submit win over those already synced as progress
+        Map<String, Boolean> cardResults = new HashMap<>();
+        if (storedResults != null) {
+            storedResults.forEach((cardId, remembered) -> putKnown(cardResults, cardIds, cardId, remembered));
+        }
+        if (submittedResults != null) {
+            submittedResults.forEach((cardId, remembered) -> putKnown(cardResults, cardIds, cardId, remembered));
+        }
+        
+        int cardsRemembered = 0;
+        for (Boolean remembered : cardResults.values()) {
+            if (Boolean.TRUE.equals(remembered)) {
+                cardsRemembered++;
+            }
+        }
+        
+        return new Result(cardResults, cardResults.size(), cardsRemembered, Math.max(0, totalCards - cardsRemembered));
+    }
+
+    private static void putKnown(Map<String, Boolean> cardResults, Set<String> cardIds, String cardId, Boolean remembered) {
+        if (cardIds.contains(cardId)) {
+            cardResults.put(cardId, remembered);
+        }
+    }
+
+    public static class Result {
+        private final Map<String, Boolean> cardResults;
+        private final int cardsStudied;
+        private final int cardsRemembered;
+        private final int cardsToReview;
+
+        Result(Map<String, Boolean> cardResults, int cardsStudied, int cardsRemembered, int cardsToReview) {
+            this.cardResults = cardResults;
+            this.cardsStudied = cardsStudied;
+            this.cardsRemembered = cardsRemembered;
+            this.cardsToReview = cardsToReview;
+        }
+
+        public Map<String, Boolean> getCardResults() {
+            return cardResults;
+        }
+
+        public int getCardsStudied() {
+            return cardsStudied;
+        }
+
+        public int getCardsRemembered() {
+            return cardsRemembered;
+        }
+
+        public int getCardsToReview() {
+            return cardsToReview;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.quizmaster.timing;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Hashed timing wheel (Varghese & Lauck): timeouts are hashed into slots by their deadline tick, and a single
+// worker thread visits one slot per tick. Scheduling and cancelling are O(1) from any thread, and each tick
+// hands every timeout that expired in it to the consumer as one batch, so millions of pending deadlines
+// cost one thread and a few objects each instead of one scheduled task each.
+@Slf4j
+public class HashedTimingWheel<T> {
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<Timeout<T>>[] wheel;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final Consumer<List<T>> onExpired;
+    private final Thread worker;
+    private volatile boolean running;
+    private long startNanos;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickDuration, TimeUnit unit, int wheelSize, Consumer<List<T>> onExpired) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = wheelSize - 1;
+        this.wheel = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new LinkedList<>();
+        }
+        this.onExpired = onExpired;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        startNanos = System.nanoTime();
+        running = true;
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    // Schedules the item to expire after the delay; a non-positive delay expires on the next tick
+    public Timeout<T> schedule(T item, long delay, TimeUnit unit) {
+        Timeout<T> timeout = new Timeout<>(item, System.nanoTime() + unit.toNanos(Math.max(0, delay)));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleepNanos = deadline - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+
+            transferPending();
+            List<T> expired = expireSlot(wheel[(int) (tick & mask)]);
+            tick++;
+
+            if (!expired.isEmpty()) {
+                try {
+                    onExpired.accept(expired);
+                } catch (RuntimeException e) {
+                    log.error("Timing wheel consumer failed for {} items", expired.size(), e);
+                }
+            }
+        }
+    }
+
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long deadlineTick = Math.max(tick, (timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos - 1);
+            timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+            wheel[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private List<T> expireSlot(List<Timeout<T>> slot) {
+        List<T> expired = new ArrayList<>();
+        Iterator<Timeout<T>> iterator = slot.iterator();
+        while (iterator.hasNext()) {
+            Timeout<T> timeout = iterator.next();
+            if (timeout.cancelled) {
+                iterator.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                iterator.remove();
+                expired.add(timeout.item);
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+        return expired;
+    }
+
+    public static class Timeout<T> {
+        private final T item;
+        private final long deadlineNanos;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        Timeout(T item, long deadlineNanos) {
+            this.item = item;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        // The slot entry is dropped lazily when the worker next visits it
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.quizmaster.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyCacheTest {
+
+    private final IdempotencyCache cache = new IdempotencyCache(100, 600);
+
+    @Test
+    void retryWithTheSameKeyGetsTheFirstResult() {
+        AtomicInteger runs = new AtomicInteger();
+
+        String first = cache.execute("alice", "quiz-submit:a1", "key", () -> "result-" + runs.incrementAndGet());
+        String retry = cache.execute("alice", "quiz-submit:a1", "key", () -> "result-" + runs.incrementAndGet());
+
+        assertEquals("result-1", first);
+        assertEquals("result-1", retry);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void keysAreScopedByUserAndOperation() {
+        AtomicInteger runs = new AtomicInteger();
+
+        cache.execute("alice", "quiz-submit:a1", "key", runs::incrementAndGet);
+        cache.execute("bob", "quiz-submit:a1", "key", runs::incrementAndGet);
+        cache.execute("alice", "quiz-submit:a2", "key", runs::incrementAndGet);
+
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void requestsWithoutAKeyAlwaysRun() {
+        AtomicInteger runs = new AtomicInteger();
+
+        cache.execute("alice", "quiz-submit:a1", null, runs::incrementAndGet);
+        cache.execute("alice", "quiz-submit:a1", " ", runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.execute("alice", "quiz-submit:a1", "key", () -> {
+            throw new IllegalStateException("write failed");
+        }));
+
+        assertEquals("ok", cache.execute("alice", "quiz-submit:a1", "key", () -> "ok"));
+    }
+
+    @Test
+    void errorsDoNotLeaveTheKeyStuck() {
+        assertThrows(StackOverflowError.class, () -> cache.execute("alice", "quiz-submit:a1", "key", () -> {
+            throw new StackOverflowError();
+        }));
+
+        assertEquals("ok", cache.execute("alice", "quiz-submit:a1", "key", () -> "ok"));
+    }
+
+    @Test
+    void concurrentDuplicatesRunTheActionOnce() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.execute("alice", "quiz-submit:a1", "key", () -> {
+                started.countDown();
+                await(release);
+                return runs.incrementAndGet();
+            })));
+            started.await();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> cache.execute("alice", "quiz-submit:a1", "key",
+                        runs::incrementAndGet)));
+            }
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.quizmaster.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizmaster.cache.ResponseBodyCache;
+import com.quizmaster.dto.response.QuizResponse;
+import com.quizmaster.model.Quiz;
+import com.quizmaster.model.Views;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Responses reference quiz documents directly, so every mapper the API writes with must hide the answer key
+@SpringBootTest(
+        classes = {JacksonViewsConfig.class, BinaryFormatsConfig.class, PayloadMappers.class, ResponseBodyCache.class},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class PublicViewSerializationTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PayloadMappers payloadMappers;
+
+    @Autowired
+    private ResponseBodyCache responseBodyCache;
+
+    private static QuizResponse quizResponse() {
+        Quiz.Question question = Quiz.Question.builder()
+                .id("q1")
+                .text("2 + 2?")
+                .type(Quiz.Question.QuestionType.SINGLE_CHOICE)
+                .options(List.of(
+                        Quiz.Question.Option.builder().id("o1").text("4").isCorrect(true).build(),
+                        Quiz.Question.Option.builder().id("o2").text("5").isCorrect(false).build()))
+                .build();
+        return QuizResponse.builder()
+                .id("quiz-1")
+                .title("Arithmetic")
+                .updatedAt(UPDATED_AT)
+                .questionCount(1)
+                .questions(List.of(question))
+                .build();
+    }
+
+    private static void assertNoAnswerKey(JsonNode tree) {
+        JsonNode options = tree.path("questions").path(0).path("options");
+        assertEquals(2, options.size());
+        assertEquals("4", options.path(0).path("text").asText());
+        assertTrue(tree.findValues("correct").isEmpty(), tree.toString());
+        assertTrue(tree.findValues("isCorrect").isEmpty(), tree.toString());
+    }
+
+    @Test
+    void applicationMapperHidesTheAnswerKey() throws Exception {
+        assertNoAnswerKey(objectMapper.readTree(objectMapper.writeValueAsString(quizResponse())));
+    }
+
+    @Test
+    void everyPayloadMapperHidesTheAnswerKey() throws Exception {
+        for (PayloadFormat format : PayloadFormat.values()) {
+            ObjectMapper mapper = payloadMappers.get(format);
+            assertNoAnswerKey(mapper.readTree(mapper.writeValueAsBytes(quizResponse())));
+        }
+    }
+
+    @Test
+    void cachedBodiesHideTheAnswerKey() throws Exception {
+        for (PayloadFormat format : PayloadFormat.values()) {
+            ResponseBodyCache.SerializedBody body = responseBodyCache.get("quiz", "quiz-1", UPDATED_AT, format,
+                    PublicViewSerializationTest::quizResponse);
+            assertNoAnswerKey(payloadMappers.get(format).readTree(body.getBody()));
+        }
+    }
+
+    @Test
+    void answerKeyViewStillIncludesIt() throws Exception {
+        String json = objectMapper.writerWithView(Views.AnswerKey.class).writeValueAsString(quizResponse());
+
+        JsonNode options = objectMapper.readTree(json).path("questions").path(0).path("options");
+        assertTrue(options.path(0).path("correct").asBoolean());
+        assertEquals("4", options.path(0).path("text").asText());
+    }
+}
@@ -0,0 +1,82 @@
+package com.quizmaster.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RankedTreapTest {
+
+    @Test
+    void ranksAndRangesInOrder() {
+        RankedTreap<Integer> treap = new RankedTreap<>(Comparator.<Integer>naturalOrder());
+        for (int value : new int[]{50, 10, 40, 20, 30}) {
+            treap.insert(value);
+        }
+
+        assertEquals(5, treap.size());
+        assertEquals(0, treap.rank(10));
+        assertEquals(2, treap.rank(30));
+        assertEquals(4, treap.rank(50));
+        assertEquals(List.of(20, 30, 40), treap.range(1, 3));
+        assertEquals(List.of(40, 50), treap.range(3, 10));
+    }
+
+    @Test
+    void rangesOutsideTheTreapAreEmpty() {
+        RankedTreap<Integer> treap = new RankedTreap<>(Comparator.<Integer>naturalOrder());
+        assertTrue(treap.range(0, 10).isEmpty());
+
+        treap.insert(1);
+        treap.insert(2);
+        assertTrue(treap.range(2, 10).isEmpty());
+        assertTrue(treap.range(0, 0).isEmpty());
+    }
+
+    @Test
+    void removeKeepsRanksConsistent() {
+        RankedTreap<Integer> treap = new RankedTreap<>(Comparator.<Integer>naturalOrder());
+        for (int i = 0; i < 10; i++) {
+            treap.insert(i);
+        }
+        treap.remove(0);
+        treap.remove(5);
+        treap.remove(42);
+
+        assertEquals(8, treap.size());
+        assertEquals(0, treap.rank(1));
+        assertEquals(4, treap.rank(6));
+        assertEquals(List.of(1, 2, 3, 4, 6, 7, 8, 9), treap.range(0, 10));
+    }
+
+    @Test
+    void matchesSortedListUnderRandomOperations() {
+        Random random = new Random(7);
+        RankedTreap<Integer> treap = new RankedTreap<>(Comparator.<Integer>naturalOrder());
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            int value = random.nextInt(5000);
+            if (expected.contains(value)) {
+                treap.remove(value);
+                expected.remove(Integer.valueOf(value));
+            } else {
+                treap.insert(value);
+                expected.add(value);
+            }
+        }
+        expected.sort(Comparator.naturalOrder());
+
+        assertEquals(expected.size(), treap.size());
+        for (int rank = 0; rank < expected.size(); rank += 37) {
+            assertEquals(rank, treap.rank(expected.get(rank)));
+            int to = Math.min(rank + 25, expected.size());
+            assertEquals(expected.subList(rank, to), treap.range(rank, 25));
+        }
+    }
+}
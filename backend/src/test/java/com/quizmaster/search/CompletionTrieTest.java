@@ -0,0 +1,132 @@
+package com.quizmaster.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompletionTrieTest {
+
+    private static final int K = 5;
+
+    @Test
+    void returnsHeaviestCompletionsForPrefix() {
+        CompletionTrie trie = new CompletionTrie(K);
+        trie.put("q1", "Java basics", "quiz", "1", 10, List.of("java", "basics"));
+        trie.put("q2", "JavaScript", "quiz", "2", 30, List.of("javascript"));
+        trie.put("q3", "Jazz history", "quiz", "3", 20, List.of("jazz", "history"));
+
+        assertEquals(List.of("q2", "q3", "q1"), ids(trie.complete("ja", 10)));
+        assertEquals(List.of("q2", "q1"), ids(trie.complete("jav", 10)));
+        assertEquals(List.of("q1"), ids(trie.complete("bas", 10)));
+        assertEquals(List.of("q2"), ids(trie.complete("ja", 1)));
+        assertTrue(trie.complete("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void incrementPromotesAndRemoveDemotes() {
+        CompletionTrie trie = new CompletionTrie(2);
+        trie.put("a", "Alpha", "quiz", "1", 5, List.of("alpha"));
+        trie.put("b", "Alphabet", "quiz", "2", 4, List.of("alphabet"));
+        trie.put("c", "Alpine", "quiz", "3", 3, List.of("alpine"));
+        assertEquals(List.of("a", "b"), ids(trie.complete("al", 10)));
+
+        trie.increment("c", 10);
+        assertEquals(13, trie.weight("c"));
+        assertEquals(List.of("c", "a"), ids(trie.complete("al", 10)));
+
+        // b was pushed out of the top-2 at "al" and has to come back from the subtree
+        trie.remove("c");
+        assertEquals(List.of("a", "b"), ids(trie.complete("al", 10)));
+        assertTrue(trie.complete("alpi", 10).isEmpty());
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void replacingAnEntryDropsItsOldKeys() {
+        CompletionTrie trie = new CompletionTrie(K);
+        trie.put("t", "Biology", "tag", "biology", 1, List.of("biology"));
+        trie.put("t", "Botany", "tag", "botany", 1, List.of("botany"));
+
+        assertTrue(trie.complete("bi", 10).isEmpty());
+        assertEquals(List.of("t"), ids(trie.complete("bo", 10)));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void prefixesLongerThanTheTrieDepthAreFilteredByText() {
+        CompletionTrie trie = new CompletionTrie(K);
+        String longWord = "supercalifragilisticexpialidocious";
+        trie.put("long", "Supercalifragilisticexpialidocious", "quiz", "1", 1, List.of(longWord));
+        trie.put("other", "Supercalifragilisticexpialidociouz", "quiz", "2", 2, List.of(longWord.substring(0, longWord.length() - 1) + "z"));
+
+        assertEquals(List.of("long"), ids(trie.complete(longWord, 10)));
+    }
+
+    @Test
+    void matchesBruteForceTopKUnderRandomUpdates() {
+        Random random = new Random(7);
+        CompletionTrie trie = new CompletionTrie(K);
+        Map<String, Long> weights = new HashMap<>();
+        Map<String, List<String>> keys = new HashMap<>();
+
+        for (int step = 0; step < 3000; step++) {
+            String id = "e" + random.nextInt(200);
+            int action = random.nextInt(10);
+            if (action < 6) {
+                List<String> entryKeys = List.of(word(random), word(random));
+                long weight = random.nextInt(50);
+                trie.put(id, id, "quiz", id, weight, entryKeys);
+                weights.put(id, weight);
+                keys.put(id, entryKeys);
+            } else if (action < 8) {
+                if (weights.containsKey(id)) {
+                    long delta = random.nextInt(20);
+                    trie.increment(id, delta);
+                    weights.put(id, weights.get(id) + delta);
+                }
+            } else {
+                trie.remove(id);
+                weights.remove(id);
+                keys.remove(id);
+            }
+
+            String prefix = word(random).substring(0, 1 + random.nextInt(2));
+            assertEquals(expected(weights, keys, prefix), ids(trie.complete(prefix, K)), "prefix " + prefix);
+        }
+    }
+
+    private static List<String> expected(Map<String, Long> weights, Map<String, List<String>> keys, String prefix) {
+        return weights.keySet().stream()
+                .filter(id -> keys.get(id).stream().anyMatch(key -> key.startsWith(prefix)))
+                .sorted(Comparator.<String>comparingLong(weights::get).reversed().thenComparing(id -> id))
+                .limit(K)
+                .collect(Collectors.toList());
+    }
+
+    // Short words over a small alphabet, so prefixes are shared a lot
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 2 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(3)));
+        }
+        return word.toString();
+    }
+
+    private static List<String> ids(List<CompletionTrie.Entry> entries) {
+        List<String> ids = new ArrayList<>();
+        for (CompletionTrie.Entry entry : entries) {
+            ids.add(entry.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,96 @@
+package com.quizmaster.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FacetIndexTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void browsesNewestFirstInPages() {
+        FacetIndex index = new FacetIndex();
+        for (int i = 0; i < 10; i++) {
+            index.put("d" + i, true, "alice", T0.plusDays(i), List.of("math"));
+        }
+
+        List<String> paged = new ArrayList<>();
+        for (int offset = 0; offset < 10; offset += 4) {
+            FacetIndex.FacetResult page = index.browse(List.of("math"), null, "bob", offset, 4, 10);
+            assertEquals(10, page.getTotal());
+            paged.addAll(page.getIds());
+        }
+        assertEquals(List.of("d9", "d8", "d7", "d6", "d5", "d4", "d3", "d2", "d1", "d0"), paged);
+
+        FacetIndex.FacetResult past = index.browse(List.of("math"), null, "bob", Integer.MAX_VALUE - 1, 100, 10);
+        assertEquals(10, past.getTotal());
+        assertTrue(past.getIds().isEmpty());
+    }
+
+    @Test
+    void intersectsTagsAndFoldsCaseAndAccents() {
+        FacetIndex index = new FacetIndex();
+        index.put("a", true, "alice", T0, List.of("Toán", "Đại số"));
+        index.put("b", true, "alice", T0.plusDays(1), List.of("toan"));
+        index.put("c", true, "alice", T0.plusDays(2), List.of("Hóa"));
+
+        assertEquals(List.of("b", "a"), index.browse(List.of("TOAN"), null, null, 0, 10, 10).getIds());
+        assertEquals(List.of("a"), index.browse(List.of("toan", " dai so "), null, null, 0, 10, 10).getIds());
+        assertTrue(index.browse(List.of("toan", "missing"), null, null, 0, 10, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void privateDocumentsAreVisibleOnlyToTheirOwner() {
+        FacetIndex index = new FacetIndex();
+        index.put("public", true, "alice", T0, List.of("history"));
+        index.put("private", false, "alice", T0.plusDays(1), List.of("history"));
+        index.put("other", true, "carol", T0.plusDays(2), List.of("history"));
+
+        assertEquals(List.of("other", "public"), index.browse(List.of("history"), null, "bob", 0, 10, 10).getIds());
+        assertEquals(List.of("other", "private", "public"), index.browse(List.of("history"), null, "alice", 0, 10, 10).getIds());
+        assertEquals(List.of("private", "public"), index.browse(null, "alice", "alice", 0, 10, 10).getIds());
+    }
+
+    @Test
+    void facetsCountEveryMatchNotJustThePage() {
+        FacetIndex index = new FacetIndex();
+        index.put("a", true, "alice", T0, List.of("Science", "Physics"));
+        index.put("b", true, "alice", T0.plusDays(1), List.of("science", "Chemistry"));
+        index.put("c", true, "alice", T0.plusDays(2), List.of("science", "physics"));
+
+        FacetIndex.FacetResult result = index.browse(List.of("science"), null, null, 0, 1, 10);
+
+        assertEquals(List.of("c"), result.getIds());
+        assertEquals(3, result.getTotal());
+        Map<String, Long> facets = result.getFacets();
+        assertEquals(3L, facets.get("Science"));
+        assertEquals(2L, facets.get("Physics"));
+        assertEquals(1L, facets.get("Chemistry"));
+    }
+
+    @Test
+    void removalUpdatesPostingsAndPublicCounts() {
+        FacetIndex index = new FacetIndex();
+        index.put("a", true, "alice", T0, List.of("art"));
+        index.put("b", true, "alice", T0.plusDays(1), List.of("art"));
+        index.put("c", false, "alice", T0.plusDays(2), List.of("art"));
+        assertEquals(2L, index.publicTagCounts().get("art"));
+
+        index.remove("b");
+        assertEquals(1L, index.publicTagCounts().get("art"));
+        assertEquals(List.of("a"), index.browse(List.of("art"), null, "bob", 0, 10, 10).getIds());
+
+        // Re-putting a document moves it to its new tags
+        index.put("a", true, "alice", T0, List.of("music"));
+        assertTrue(index.browse(List.of("art"), null, "bob", 0, 10, 10).getIds().isEmpty());
+        assertNull(index.publicTagCounts().get("art"));
+    }
+}
@@ -0,0 +1,138 @@
+package com.quizmaster.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    private static List<InvertedIndex.Field> fields(String title, String body) {
+        return List.of(new InvertedIndex.Field(title, 3f), new InvertedIndex.Field(body, 1f));
+    }
+
+    @Test
+    void ranksByTermFrequencyAndFieldBoost() {
+        InvertedIndex index = new InvertedIndex();
+        index.index("body-once", fields("History quiz", "one question about java"));
+        index.index("title", fields("Java basics", "variables and loops"));
+        index.index("body-twice", fields("Programming quiz", "java classes and java interfaces"));
+        index.index("unrelated", fields("Geography", "rivers and mountains"));
+
+        SearchHits hits = index.search("java", 0, 10);
+
+        assertEquals(3, hits.getTotalHits());
+        assertEquals(List.of("title", "body-twice", "body-once"), hits.getIds());
+    }
+
+    @Test
+    void rarerTermsWeighMore() {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < 10; i++) {
+            index.index("common-" + i, fields("Quiz " + i, "general knowledge"));
+        }
+        index.index("rare", fields("Quiz rare", "photosynthesis"));
+        index.index("common-only", fields("Quiz extra", "general"));
+
+        // "photosynthesis" appears once, "general" in eleven documents
+        assertEquals("rare", index.search("general photosynthesis", 0, 1).getIds().get(0));
+    }
+
+    @Test
+    void pagesAreSlicesOfTheFullRanking() {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 1; i <= 7; i++) {
+            StringBuilder body = new StringBuilder();
+            for (int j = 0; j < i; j++) {
+                body.append("algebra ");
+            }
+            index.index("doc-" + i, fields("Math " + i, body.toString()));
+        }
+
+        List<String> all = index.search("algebra", 0, 100).getIds();
+        assertEquals(7, all.size());
+
+        List<String> paged = new ArrayList<>();
+        for (int offset = 0; offset < 7; offset += 3) {
+            SearchHits page = index.search("algebra", offset, 3);
+            assertEquals(7, page.getTotalHits());
+            paged.addAll(page.getIds());
+        }
+        assertEquals(all, paged);
+    }
+
+    @Test
+    void offsetPastTheLastHitReturnsAnEmptyPage() {
+        InvertedIndex index = new InvertedIndex();
+        index.index("a", fields("Chemistry", "atoms"));
+        index.index("b", fields("Chemistry two", "molecules"));
+
+        SearchHits past = index.search("chemistry", 2, 10);
+        assertEquals(2, past.getTotalHits());
+        assertTrue(past.getIds().isEmpty());
+
+        // offset + limit would overflow an int
+        SearchHits deep = index.search("chemistry", Integer.MAX_VALUE - 10, 100);
+        assertEquals(2, deep.getTotalHits());
+        assertTrue(deep.getIds().isEmpty());
+
+        assertTrue(index.search("chemistry", -1, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void removedAndReindexedDocumentsAreNotReturnedWithStaleContent() {
+        InvertedIndex index = new InvertedIndex();
+        index.index("a", fields("Physics", "gravity"));
+        index.index("b", fields("Physics two", "gravity and light"));
+
+        index.remove("a");
+        assertEquals(List.of("b"), index.search("gravity", 0, 10).getIds());
+
+        index.index("b", fields("Optics", "light"));
+        assertTrue(index.search("gravity", 0, 10).getIds().isEmpty());
+        assertEquals(List.of("b"), index.search("light", 0, 10).getIds());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void compactionKeepsLiveDocumentsSearchable() {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < 2000; i++) {
+            index.index("doc-" + i, fields("Biology " + i, i % 2 == 0 ? "cells" : "genes"));
+        }
+        // Removing more than a quarter of the ordinals triggers compaction
+        for (int i = 0; i < 1000; i++) {
+            index.remove("doc-" + i);
+        }
+
+        assertEquals(1000, index.size());
+        SearchHits cells = index.search("cells", 0, 2000);
+        assertEquals(500, cells.getTotalHits());
+        for (String id : cells.getIds()) {
+            int number = Integer.parseInt(id.substring("doc-".length()));
+            assertTrue(number >= 1000 && number % 2 == 0, id);
+        }
+
+        index.index("late", fields("Biology late", "cells"));
+        assertEquals(501, index.search("cells", 0, 2000).getTotalHits());
+    }
+
+    @Test
+    void editsBelowTheCompactionThresholdKeepTheRanking() {
+        InvertedIndex index = new InvertedIndex();
+        // Each re-index tombstones the previous version; a small index never compacts
+        for (int edit = 0; edit < 20; edit++) {
+            index.index("often", fields("Java quiz " + edit, "java generics and java streams"));
+            index.index("once", fields("Quiz " + edit, "one java question"));
+            index.index("none", fields("Geography " + edit, "rivers"));
+        }
+
+        SearchHits hits = index.search("java", 0, 10);
+
+        assertEquals(2, hits.getTotalHits());
+        assertEquals(List.of("often", "once"), hits.getIds());
+    }
+}
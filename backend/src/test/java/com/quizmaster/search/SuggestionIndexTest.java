@@ -0,0 +1,65 @@
+package com.quizmaster.search;
+
+import com.quizmaster.model.Flashcard;
+import com.quizmaster.model.Quiz;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SuggestionIndexTest {
+
+    // Documents as Mongo returns them for the query's projection: fields it leaves out keep their defaults
+    @Test
+    void buildsFromProjectedDocuments() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.aggregate(any(Aggregation.class), anyString(), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+        when(mongoTemplate.stream(any(Query.class), eq(Quiz.class))).thenAnswer(invocation -> {
+            Document fields = invocation.getArgument(0, Query.class).getFieldsObject();
+            return Stream.of(Quiz.builder()
+                    .id("q1")
+                    .title(fields.containsKey("title") ? "Java basics" : null)
+                    .tags(fields.containsKey("tags") ? List.of("jvm") : null)
+                    .isPublic(fields.containsKey("isPublic"))
+                    .build());
+        });
+        when(mongoTemplate.stream(any(Query.class), eq(Flashcard.class))).thenAnswer(invocation -> {
+            Document fields = invocation.getArgument(0, Query.class).getFieldsObject();
+            return Stream.of(Flashcard.builder()
+                    .id("f1")
+                    .title(fields.containsKey("title") ? "Java keywords" : null)
+                    .isPublic(fields.containsKey("isPublic"))
+                    .build());
+        });
+
+        SuggestionIndex index = new SuggestionIndex(mongoTemplate);
+        index.build();
+
+        assertEquals(Set.of("q1", "f1"), refIds(index.suggest("java", 10)));
+        assertEquals(List.of("jvm"), index.suggest("jv", 10).stream()
+                .map(CompletionTrie.Entry::getText)
+                .collect(Collectors.toList()));
+    }
+
+    private static Set<String> refIds(List<CompletionTrie.Entry> entries) {
+        return entries.stream()
+                .filter(entry -> !SuggestionIndex.TYPE_TAG.equals(entry.getType()))
+                .map(CompletionTrie.Entry::getRefId)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,59 @@
+package com.quizmaster.security;
+
+import com.quizmaster.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthAttemptLimiterTest {
+
+    // 60 s window, 5 attempts per IP, 3 failures per username and IP
+    private final AuthAttemptLimiter limiter = new AuthAttemptLimiter(new SimpleMeterRegistry(), 60, 5, 3, 1000);
+
+    @Test
+    void everyAttemptCountsAgainstTheClientIp() {
+        for (int i = 0; i < 5; i++) {
+            limiter.check("10.0.0.1", "user" + i);
+        }
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> limiter.check("10.0.0.1", "someone-else"));
+        assertTrue(e.getRetryAfterSeconds() >= 1);
+        assertDoesNotThrow(() -> limiter.check("10.0.0.2", "someone-else"));
+    }
+
+    @Test
+    void successfulAttemptsDoNotCountAgainstTheUsername() {
+        for (int i = 0; i < 10; i++) {
+            limiter.check("10.0.0." + i, "alice");
+        }
+
+        assertDoesNotThrow(() -> limiter.check("10.0.0.99", "alice"));
+    }
+
+    @Test
+    void failuresLockTheUsernameOnlyFromTheFailingIp() {
+        for (int i = 0; i < 3; i++) {
+            limiter.check("10.0.0.1", "alice");
+            limiter.recordFailure("10.0.0.1", "alice");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.check("10.0.0.1", "alice"));
+        // The account owner elsewhere is not locked out by someone else's failures
+        assertDoesNotThrow(() -> limiter.check("10.0.0.2", "alice"));
+        assertDoesNotThrow(() -> limiter.check("10.0.0.1", "bob"));
+    }
+
+    @Test
+    void failuresWithoutAnIpCountPerUsername() {
+        for (int i = 0; i < 3; i++) {
+            limiter.check(null, "alice");
+            limiter.recordFailure(null, "alice");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.check(null, "alice"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.quizmaster.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void neverForgetsAnAddedId() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        String[] ids = new String[10_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            filter.add(ids[i]);
+        }
+
+        for (String id : ids) {
+            assertTrue(filter.mightContain(id), id);
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1000, 0.001);
+
+        assertFalse(filter.mightContain("token-1"));
+        assertFalse(filter.mightContain(""));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTargetAtCapacity() {
+        BloomFilter filter = new BloomFilter(20_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        // Target 1%; allow for hashing variance but catch a broken bit layout or hash
+        assertTrue(falsePositives < probes * 0.02, falsePositives + " false positives");
+    }
+
+    @Test
+    void sequentialIdsDoNotCollide() {
+        BloomFilter filter = new BloomFilter(1000, 0.001);
+        for (int i = 0; i < 1000; i += 2) {
+            filter.add("family-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 1; i < 1000; i += 2) {
+            if (filter.mightContain("family-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives <= 5, falsePositives + " false positives");
+    }
+}
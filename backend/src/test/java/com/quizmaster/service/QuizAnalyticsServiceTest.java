@@ -0,0 +1,77 @@
+package com.quizmaster.service;
+
+import com.quizmaster.cache.QuizCache;
+import com.quizmaster.model.Quiz;
+import com.quizmaster.model.QuizQuestionStats;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class QuizAnalyticsServiceTest {
+
+    private static Quiz quiz() {
+        Quiz.Question.Option right = Quiz.Question.Option.builder().id("right").isCorrect(true).build();
+        Quiz.Question.Option wrong = Quiz.Question.Option.builder().id("wrong").isCorrect(false).build();
+        return Quiz.builder()
+                .id("quiz-1")
+                .questions(List.of(
+                        Quiz.Question.builder().id("q1").type(Quiz.Question.QuestionType.SINGLE_CHOICE)
+                                .options(List.of(right, wrong)).build(),
+                        Quiz.Question.builder().id("q2").type(Quiz.Question.QuestionType.SINGLE_CHOICE)
+                                .options(List.of(right, wrong)).build()))
+                .build();
+    }
+
+    private static Document recordedIncrements(Map<String, Integer> questionTimes, int timeSpent) {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        QuizAnalyticsService service = new QuizAnalyticsService(mongoTemplate, mock(QuizCache.class));
+        Quiz quiz = quiz();
+        Map<String, List<String>> answers = Map.of("q1", List.of("right"), "q2", List.of("wrong"));
+
+        service.recordAttempt(quiz, answers, questionTimes, timeSpent, QuizGrader.grade(quiz, answers).getOutcomes());
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(QuizQuestionStats.class));
+        return (Document) update.getValue().getUpdateObject().get("$inc");
+    }
+
+    @Test
+    void questionTimesAreCappedAtTheMeasuredAttemptTime() {
+        Document inc = recordedIncrements(Map.of("q1", 1_000_000, "q2", 30), 60);
+
+        assertEquals(60, inc.get("questions.q1.totalTimeSeconds"));
+        assertEquals(30, inc.get("questions.q2.totalTimeSeconds"));
+        assertEquals(1, inc.get("questions.q1.timedAnswers"));
+    }
+
+    @Test
+    void negativeTimesAreIgnored() {
+        Document inc = recordedIncrements(Map.of("q1", -5), 60);
+
+        assertFalse(inc.containsKey("questions.q1.totalTimeSeconds"));
+        assertFalse(inc.containsKey("questions.q1.timedAnswers"));
+    }
+
+    @Test
+    void outcomesAndPicksAreCounted() {
+        Document inc = recordedIncrements(null, 60);
+
+        assertEquals(1, inc.get("attempts"));
+        assertEquals(1, inc.get("questions.q1.correct"));
+        assertEquals(1, inc.get("questions.q2.wrong"));
+        assertEquals(1, inc.get("questions.q1.optionPicks.right"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.quizmaster.service;
+
+import com.quizmaster.model.Quiz;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QuizGraderTest {
+
+    private static Quiz.Question.Option option(String id, boolean correct) {
+        return Quiz.Question.Option.builder().id(id).text(id).isCorrect(correct).build();
+    }
+
+    private static Quiz.Question single(String id) {
+        return Quiz.Question.builder()
+                .id(id)
+                .type(Quiz.Question.QuestionType.SINGLE_CHOICE)
+                .options(List.of(option(id + "-a", true), option(id + "-b", false)))
+                .build();
+    }
+
+    private static Quiz.Question multiple(String id) {
+        return Quiz.Question.builder()
+                .id(id)
+                .type(Quiz.Question.QuestionType.MULTIPLE_CHOICE)
+                .options(List.of(option(id + "-a", true), option(id + "-b", true), option(id + "-c", false)))
+                .build();
+    }
+
+    @Test
+    void gradesSingleAndMultipleChoice() {
+        Quiz quiz = Quiz.builder().questions(List.of(single("q1"), single("q2"), multiple("q3"), multiple("q4"), single("q5"))).build();
+        Map<String, List<String>> answers = new HashMap<>();
+        answers.put("q1", List.of("q1-a"));
+        answers.put("q2", List.of("q2-a", "q2-b"));
+        answers.put("q3", List.of("q3-b", "q3-a"));
+        answers.put("q4", List.of("q4-a"));
+
+        QuizGrader.Result result = QuizGrader.grade(quiz, answers);
+
+        assertEquals(2, result.getCorrectAnswers());
+        assertEquals(2, result.getWrongAnswers());
+        assertEquals(1, result.getUnanswered());
+        assertEquals(40, result.getScore());
+        byte[] outcomes = result.getOutcomes();
+        assertEquals(QuizGrader.OUTCOME_CORRECT, QuizGrader.outcome(outcomes, 0));
+        assertEquals(QuizGrader.OUTCOME_WRONG, QuizGrader.outcome(outcomes, 1));
+        assertEquals(QuizGrader.OUTCOME_CORRECT, QuizGrader.outcome(outcomes, 2));
+        assertEquals(QuizGrader.OUTCOME_WRONG, QuizGrader.outcome(outcomes, 3));
+        assertEquals(QuizGrader.OUTCOME_UNANSWERED, QuizGrader.outcome(outcomes, 4));
+    }
+
+    @Test
+    void unknownOptionsAndEmptySelectionsAreNotCorrect() {
+        Quiz quiz = Quiz.builder().questions(List.of(single("q1"), single("q2"))).build();
+        Map<String, List<String>> answers = new HashMap<>();
+        answers.put("q1", List.of("made-up"));
+        answers.put("q2", List.of());
+
+        QuizGrader.Result result = QuizGrader.grade(quiz, answers);
+
+        assertEquals(QuizGrader.OUTCOME_WRONG, QuizGrader.outcome(result.getOutcomes(), 0));
+        assertEquals(QuizGrader.OUTCOME_UNANSWERED, QuizGrader.outcome(result.getOutcomes(), 1));
+        assertEquals(0, result.getScore());
+    }
+
+    @Test
+    void packsFourOutcomesPerByteAcrossByteBoundaries() {
+        List<Quiz.Question> questions = new ArrayList<>();
+        Map<String, List<String>> answers = new HashMap<>();
+        int[] expected = new int[11];
+        for (int i = 0; i < expected.length; i++) {
+            questions.add(single("q" + i));
+            expected[i] = i % 3;
+            if (expected[i] == QuizGrader.OUTCOME_CORRECT) {
+                answers.put("q" + i, List.of("q" + i + "-a"));
+            } else if (expected[i] == QuizGrader.OUTCOME_WRONG) {
+                answers.put("q" + i, List.of("q" + i + "-b"));
+            }
+        }
+
+        QuizGrader.Result result = QuizGrader.grade(Quiz.builder().questions(questions).build(), answers);
+
+        assertEquals(3, result.getOutcomes().length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], QuizGrader.outcome(result.getOutcomes(), i), "question " + i);
+        }
+    }
+
+    @Test
+    void emptyQuizScoresZero() {
+        QuizGrader.Result result = QuizGrader.grade(Quiz.builder().questions(List.of()).build(), null);
+
+        assertEquals(0, result.getScore());
+        assertEquals(0, result.getOutcomes().length);
+    }
+}
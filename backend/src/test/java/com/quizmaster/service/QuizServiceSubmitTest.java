@@ -0,0 +1,211 @@
+package com.quizmaster.service;
+
+import com.quizmaster.cache.IdempotencyCache;
+import com.quizmaster.cache.QuizCache;
+import com.quizmaster.cache.ResponseBodyCache;
+import com.quizmaster.dto.request.SubmitQuizRequest;
+import com.quizmaster.dto.response.QuizAttemptResponse;
+import com.quizmaster.model.Quiz;
+import com.quizmaster.model.QuizAttempt;
+import com.quizmaster.repository.QuizAttemptRepository;
+import com.quizmaster.repository.QuizRepository;
+import com.quizmaster.search.ContentSearchIndex;
+import com.quizmaster.search.SuggestionIndex;
+import com.quizmaster.search.TagCatalog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuizServiceSubmitTest {
+
+    private static final String USER = "alice";
+    private static final String ATTEMPT_ID = "attempt-1";
+
+    private QuizAttemptRepository quizAttemptRepository;
+    private QuizAnalyticsService quizAnalyticsService;
+    private LeaderboardService leaderboardService;
+    private AttemptTimerService attemptTimerService;
+    private AnswerAutosaveService answerAutosaveService;
+    private MongoTemplate mongoTemplate;
+    private QuizService quizService;
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        quizAttemptRepository = mock(QuizAttemptRepository.class);
+        quizAnalyticsService = mock(QuizAnalyticsService.class);
+        leaderboardService = mock(LeaderboardService.class);
+        attemptTimerService = mock(AttemptTimerService.class);
+        answerAutosaveService = mock(AnswerAutosaveService.class);
+        mongoTemplate = mock(MongoTemplate.class);
+
+        quiz = Quiz.builder()
+                .id("quiz-1")
+                .title("Java basics")
+                .questions(List.of(Quiz.Question.builder()
+                        .id("q1")
+                        .type(Quiz.Question.QuestionType.SINGLE_CHOICE)
+                        .options(List.of(
+                                Quiz.Question.Option.builder().id("right").isCorrect(true).build(),
+                                Quiz.Question.Option.builder().id("wrong").isCorrect(false).build()))
+                        .build()))
+                .build();
+        QuizCache quizCache = new QuizCache(mock(QuizRepository.class), 100, 300);
+        quizCache.put(quiz);
+
+        quizService = new QuizService(
+                mock(QuizRepository.class),
+                quizAttemptRepository,
+                quizCache,
+                mock(ResponseBodyCache.class),
+                mock(CatalogStreamWriter.class),
+                mock(ContentSearchIndex.class),
+                mock(SuggestionIndex.class),
+                mock(TagCatalog.class),
+                quizAnalyticsService,
+                leaderboardService,
+                attemptTimerService,
+                answerAutosaveService,
+                new IdempotencyCache(100, 600),
+                mongoTemplate);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(USER, null, List.of()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static QuizAttempt attempt(boolean completed, int score) {
+        return QuizAttempt.builder()
+                .id(ATTEMPT_ID)
+                .userId(USER)
+                .quizId("quiz-1")
+                .totalQuestions(1)
+                .score(score)
+                .completed(completed)
+                .startedAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+    }
+
+    private static SubmitQuizRequest answering(String questionId, String optionId) {
+        return SubmitQuizRequest.builder()
+                .answers(Map.of(questionId, List.of(optionId)))
+                .build();
+    }
+
+    private void completesWith(QuizAttempt stored) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(QuizAttempt.class))).thenReturn(stored);
+    }
+
+    @Test
+    void completesOnlyAnAttemptThatIsStillOpen() {
+        when(quizAttemptRepository.findById(ATTEMPT_ID)).thenReturn(Optional.of(attempt(false, 0)));
+        completesWith(attempt(true, 100));
+
+        QuizAttemptResponse response = quizService.submitQuiz(ATTEMPT_ID, answering("q1", "right"), null);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class),
+                eq(QuizAttempt.class));
+        assertEquals(false, query.getValue().getQueryObject().get("completed"));
+        assertEquals(100, response.getScore());
+        verify(attemptTimerService).untrack(ATTEMPT_ID);
+        verify(leaderboardService).recordAttempt(any(QuizAttempt.class));
+        verify(quizAnalyticsService).recordAttempt(eq(quiz), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void losingTheRaceReturnsTheWinnersResultWithoutRecordingIt() {
+        // Open when read, completed by the timer or another submit before the update
+        when(quizAttemptRepository.findById(ATTEMPT_ID))
+                .thenReturn(Optional.of(attempt(false, 0)))
+                .thenReturn(Optional.of(attempt(true, 40)));
+        completesWith(null);
+
+        QuizAttemptResponse response = quizService.submitQuiz(ATTEMPT_ID, answering("q1", "right"), null);
+
+        assertEquals(40, response.getScore());
+        assertTrue(response.isCompleted());
+        verify(leaderboardService, never()).recordAttempt(any(QuizAttempt.class));
+        verify(quizAnalyticsService, never()).recordAttempt(any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void repeatedSubmitReturnsTheStoredResult() {
+        when(quizAttemptRepository.findById(ATTEMPT_ID)).thenReturn(Optional.of(attempt(true, 70)));
+
+        QuizAttemptResponse response = quizService.submitQuiz(ATTEMPT_ID, answering("q1", "wrong"), null);
+
+        assertEquals(70, response.getScore());
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(QuizAttempt.class));
+        verify(answerAutosaveService, never()).close(anyString());
+    }
+
+    @Test
+    void retryWithTheSameIdempotencyKeyReplaysTheFirstResult() {
+        when(quizAttemptRepository.findById(ATTEMPT_ID)).thenReturn(Optional.of(attempt(false, 0)));
+        completesWith(attempt(true, 100));
+
+        QuizAttemptResponse first = quizService.submitQuiz(ATTEMPT_ID, answering("q1", "right"), "key-1");
+        QuizAttemptResponse retry = quizService.submitQuiz(ATTEMPT_ID, answering("q1", "wrong"), "key-1");
+
+        assertEquals(first, retry);
+        verify(quizAttemptRepository, times(1)).findById(ATTEMPT_ID);
+        verify(leaderboardService, times(1)).recordAttempt(any(QuizAttempt.class));
+    }
+
+    @Test
+    void rejectsAnswersToQuestionsOutsideTheQuiz() {
+        when(quizAttemptRepository.findById(ATTEMPT_ID)).thenReturn(Optional.of(attempt(false, 0)));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> quizService.submitQuiz(ATTEMPT_ID, answering("$where", "right"), null));
+
+        assertTrue(e.getMessage().startsWith("Unknown question"));
+        // The autosaved answers stay open for a corrected submit
+        verify(answerAutosaveService, never()).close(anyString());
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(QuizAttempt.class));
+    }
+
+    @Test
+    void expiredAttemptsAreLeftToTheTimer() {
+        when(quizAttemptRepository.findById(ATTEMPT_ID)).thenReturn(Optional.of(attempt(false, 0)));
+        when(attemptTimerService.isExpired(any(QuizAttempt.class))).thenReturn(true);
+
+        assertThrows(RuntimeException.class,
+                () -> quizService.submitQuiz(ATTEMPT_ID, answering("q1", "right"), null));
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(QuizAttempt.class));
+    }
+}
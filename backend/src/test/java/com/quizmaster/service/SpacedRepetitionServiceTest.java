@@ -0,0 +1,73 @@
+package com.quizmaster.service;
+
+import com.quizmaster.model.CardReviewState;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SpacedRepetitionServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private static CardReviewState newCard() {
+        return CardReviewState.builder().easeFactor(2.5).build();
+    }
+
+    @Test
+    void rememberedCardsFollowTheSm2Intervals() {
+        CardReviewState state = newCard();
+
+        SpacedRepetitionService.schedule(state, true, NOW);
+        assertEquals(1, state.getIntervalDays());
+        assertEquals(1, state.getRepetitions());
+        assertEquals(NOW.plusDays(1), state.getDueAt());
+
+        SpacedRepetitionService.schedule(state, true, NOW);
+        assertEquals(6, state.getIntervalDays());
+        assertEquals(2, state.getRepetitions());
+
+        // Quality 4 leaves the ease factor at 2.5, so the next interval is round(6 * 2.5)
+        SpacedRepetitionService.schedule(state, true, NOW);
+        assertEquals(15, state.getIntervalDays());
+        assertEquals(3, state.getRepetitions());
+        assertEquals(2.5, state.getEaseFactor(), 1e-9);
+        assertEquals(NOW.plusDays(15), state.getDueAt());
+        assertEquals(0, state.getLapses());
+    }
+
+    @Test
+    void forgettingResetsTheStreakAndLowersEase() {
+        CardReviewState state = newCard();
+        SpacedRepetitionService.schedule(state, true, NOW);
+        SpacedRepetitionService.schedule(state, true, NOW);
+
+        SpacedRepetitionService.schedule(state, false, NOW);
+
+        assertEquals(0, state.getRepetitions());
+        assertEquals(1, state.getIntervalDays());
+        assertEquals(1, state.getLapses());
+        // Quality 2: 0.1 - 3 * (0.08 + 3 * 0.02) = -0.32
+        assertEquals(2.18, state.getEaseFactor(), 1e-9);
+        assertEquals(NOW.plusDays(1), state.getDueAt());
+
+        // The lowered ease stretches later intervals less
+        SpacedRepetitionService.schedule(state, true, NOW);
+        SpacedRepetitionService.schedule(state, true, NOW);
+        SpacedRepetitionService.schedule(state, true, NOW);
+        assertEquals(13, state.getIntervalDays());
+    }
+
+    @Test
+    void easeNeverDropsBelowTheMinimum() {
+        CardReviewState state = newCard();
+        for (int i = 0; i < 10; i++) {
+            SpacedRepetitionService.schedule(state, false, NOW);
+        }
+
+        assertEquals(1.3, state.getEaseFactor(), 1e-9);
+        assertEquals(10, state.getLapses());
+        assertEquals(1, state.getIntervalDays());
+    }
+}
@@ -0,0 +1,47 @@
+package com.quizmaster.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StudyScorerTest {
+
+    private static final Set<String> CARDS = Set.of("c1", "c2", "c3", "c4");
+
+    @Test
+    void submittedResultsOverrideSyncedProgress() {
+        StudyScorer.Result result = StudyScorer.score(
+                Map.of("c1", true, "c2", false),
+                Map.of("c2", true, "c3", false),
+                CARDS, 4);
+
+        assertEquals(Map.of("c1", true, "c2", true, "c3", false), result.getCardResults());
+        assertEquals(3, result.getCardsStudied());
+        assertEquals(2, result.getCardsRemembered());
+        assertEquals(2, result.getCardsToReview());
+    }
+
+    @Test
+    void unknownCardIdsAreIgnored() {
+        StudyScorer.Result result = StudyScorer.score(
+                Map.of("c1", true, "ghost-1", true),
+                Map.of("ghost-2", true, "ghost-3", true, "c2", true),
+                CARDS, 2);
+
+        assertEquals(Map.of("c1", true, "c2", true), result.getCardResults());
+        assertEquals(2, result.getCardsRemembered());
+        // Never negative, even if the set gained cards after the study started
+        assertEquals(0, result.getCardsToReview());
+    }
+
+    @Test
+    void handlesMissingResultMaps() {
+        StudyScorer.Result result = StudyScorer.score(null, null, CARDS, 4);
+
+        assertEquals(0, result.getCardsStudied());
+        assertEquals(4, result.getCardsToReview());
+    }
+}
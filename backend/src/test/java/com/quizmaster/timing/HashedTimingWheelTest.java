@@ -0,0 +1,97 @@
+package com.quizmaster.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK_MS = 5;
+
+    private final BlockingQueue<List<String>> batches = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Long> expiredAtNanos = new LinkedBlockingQueue<>();
+    private HashedTimingWheel<String> wheel;
+
+    private HashedTimingWheel<String> start(int wheelSize) {
+        wheel = new HashedTimingWheel<>("test-wheel", TICK_MS, TimeUnit.MILLISECONDS, wheelSize, expired -> {
+            expiredAtNanos.add(System.nanoTime());
+            batches.add(expired);
+        });
+        wheel.start();
+        return wheel;
+    }
+
+    @AfterEach
+    void stop() {
+        if (wheel != null) {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void rejectsWheelSizesThatAreNotPowersOfTwo() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HashedTimingWheel<String>("test-wheel", 1, TimeUnit.MILLISECONDS, 6, expired -> { }));
+    }
+
+    @Test
+    void neverExpiresBeforeTheDeadline() throws InterruptedException {
+        // Four slots of 5 ms: an 80 ms delay needs several rounds around the wheel
+        start(4);
+        long scheduledAt = System.nanoTime();
+        wheel.schedule("attempt", 80, TimeUnit.MILLISECONDS);
+
+        List<String> batch = batches.poll(2, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(List.of("attempt"), batch);
+        assertTrue(expiredAtNanos.take() - scheduledAt >= TimeUnit.MILLISECONDS.toNanos(80));
+    }
+
+    @Test
+    void nonPositiveDelaysExpireOnTheNextTick() throws InterruptedException {
+        start(8);
+        wheel.schedule("overdue", -1000, TimeUnit.MILLISECONDS);
+
+        assertEquals(List.of("overdue"), batches.poll(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelledTimeoutsNeverExpire() throws InterruptedException {
+        start(8);
+        HashedTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 20, TimeUnit.MILLISECONDS);
+        wheel.schedule("kept", 40, TimeUnit.MILLISECONDS);
+        cancelled.cancel();
+
+        assertEquals(List.of("kept"), batches.poll(2, TimeUnit.SECONDS));
+        assertNull(batches.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void expiresEveryScheduledTimeoutExactlyOnce() throws InterruptedException {
+        start(8);
+        wheel.schedule("a", 50, TimeUnit.MILLISECONDS);
+        wheel.schedule("b", 50, TimeUnit.MILLISECONDS);
+        wheel.schedule("c", 50, TimeUnit.MILLISECONDS);
+
+        List<String> expired = new ArrayList<>();
+        while (expired.size() < 3) {
+            List<String> batch = batches.poll(2, TimeUnit.SECONDS);
+            assertNotNull(batch);
+            expired.addAll(batch);
+        }
+        assertEquals(3, expired.size());
+        assertTrue(expired.containsAll(List.of("a", "b", "c")));
+        assertNull(batches.poll(100, TimeUnit.MILLISECONDS));
+    }
+}